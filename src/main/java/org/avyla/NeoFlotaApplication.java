@@ -1,11 +1,14 @@
 package org.avyla;
 
 import org.avyla.checklists.config.ChecklistProperties;
+import org.avyla.security.config.AuthProperties;
+import org.avyla.shared.scheduling.SchedulingProperties;
+import org.avyla.shared.storage.StorageProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
-@EnableConfigurationProperties(ChecklistProperties.class)
+@EnableConfigurationProperties({ChecklistProperties.class, StorageProperties.class, SchedulingProperties.class, AuthProperties.class})
 @SpringBootApplication
 public class NeoFlotaApplication {
     public static void main(String[] args) {
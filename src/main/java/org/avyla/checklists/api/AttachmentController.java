@@ -1,17 +1,20 @@
 package org.avyla.checklists.api;
 
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.avyla.checklists.api.dto.response.AttachmentResponse;
 import org.avyla.checklists.application.service.AttachmentService;
+import org.avyla.checklists.domain.enums.AttachmentVariant;
 import org.avyla.security.application.service.CurrentUserService;
-import org.springframework.core.io.ByteArrayResource;
+import org.avyla.shared.storage.BlobDownloadWriter;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.net.URI;
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
 
@@ -22,6 +25,7 @@ public class AttachmentController {
 
     private final AttachmentService service;
     private final CurrentUserService currentUserService;
+    private final BlobDownloadWriter downloadWriter;
 
     // ===== Subir evidencia por RESPUESTA =====
     @PostMapping(value = "/checklists/responses/{responseId}/attachments",
@@ -52,27 +56,13 @@ public class AttachmentController {
         return service.listForResponse(responseId);
     }
 
-    // Descargar
+    // Descargar (streaming, soporta Range para reanudar); variant = thumb | preview | original
     @GetMapping("/attachments/{id}")
-    public ResponseEntity<ByteArrayResource> download(@PathVariable UUID id) {
-        var a = service.getAttachmentOr404(id);
-
-        var resource = new ByteArrayResource(a.getData());
-        var headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType(a.getType()));
-        headers.setContentLength(a.getSize());
-
-        // Content-Disposition seguro
-        String safeFilename = a.getFilename().replaceAll("[\\r\\n\"]", "_");
-        ContentDisposition cd = ContentDisposition.attachment()
-                .filename(safeFilename, StandardCharsets.UTF_8)
-                .build();
-        headers.setContentDisposition(cd);
-
-        // ETag simple con tamaño (puedes usar SHA-256 si lo agregas)
-        headers.setETag("\"" + a.getSize() + "\"");
-
-        return new ResponseEntity<>(resource, headers, HttpStatus.OK);
+    public void download(@PathVariable UUID id,
+                         @RequestParam(required = false) String variant,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        downloadWriter.write(service.getDownloadOr404(id, AttachmentVariant.from(variant)), request, response);
     }
 
     // Eliminar
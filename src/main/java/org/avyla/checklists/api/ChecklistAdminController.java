@@ -0,0 +1,53 @@
+package org.avyla.checklists.api;
+
+import lombok.RequiredArgsConstructor;
+import org.avyla.checklists.api.dto.response.CatalogStatsResponse;
+import org.avyla.checklists.api.dto.response.ExpiryStatsResponse;
+import org.avyla.checklists.api.dto.response.VariantStatsResponse;
+import org.avyla.checklists.application.service.AttachmentVariantService;
+import org.avyla.checklists.application.service.ChecklistExpiryScheduler;
+import org.avyla.checklists.application.service.OptionCatalogService;
+import org.avyla.checklists.application.service.PublishedDesignCache;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Operación del módulo de checklists (solo ADMIN, ver SecurityConfig: /api/admin/**).
+ */
+@RestController
+@RequestMapping("/api/admin/checklists")
+@RequiredArgsConstructor
+public class ChecklistAdminController {
+
+    private final OptionCatalogService catalogService;
+    private final PublishedDesignCache publishedDesignCache;
+    private final AttachmentVariantService variantService;
+    private final ChecklistExpiryScheduler expiryScheduler;
+
+    @GetMapping("/catalog/stats")
+    public CatalogStatsResponse catalogStats() {
+        return catalogService.stats();
+    }
+
+    @PostMapping("/catalog/refresh")
+    public CatalogStatsResponse refreshCatalog() {
+        return catalogService.refresh();
+    }
+
+    // Tras publicar una versión directamente por SQL (fuera de la app)
+    @PostMapping("/published/evict")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void evictPublishedDesigns() {
+        publishedDesignCache.invalidateAll();
+    }
+
+    @GetMapping("/attachments/variants/stats")
+    public VariantStatsResponse variantStats() {
+        return variantService.stats();
+    }
+
+    @GetMapping("/expiry/stats")
+    public ExpiryStatsResponse expiryStats() {
+        return expiryScheduler.stats();
+    }
+}
@@ -2,11 +2,15 @@ package org.avyla.checklists.api;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.avyla.checklists.api.dto.request.PatchResponsesRequest;
 import org.avyla.checklists.api.dto.request.SaveResponsesRequest;
 import org.avyla.checklists.api.dto.response.CreateInstanceResponse;
 import org.avyla.checklists.api.dto.response.InstanceDetailsResponse;
+import org.avyla.checklists.api.dto.response.InstanceListItemResponse;
 import org.avyla.checklists.api.dto.response.PendingPayloadResponse;
+import org.avyla.checklists.api.dto.response.SaveResponsesResult;
 import org.avyla.checklists.application.service.ChecklistService;
+import org.avyla.shared.pagination.CursorSliceResponse;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -34,6 +38,13 @@ public class ChecklistController {
                 .body(body);
     }
 
+    // Listado por cursor (más recientes primero), sin total
+    @GetMapping("/instances/scroll")
+    public CursorSliceResponse<InstanceListItemResponse> scrollInstances(@RequestParam(required = false) String cursor,
+                                                                         @RequestParam(required = false) Integer size) {
+        return service.scrollInstances(cursor, size);
+    }
+
     @PostMapping("/instances/{id}/responses")
     public ResponseEntity<Void> saveResponses(@PathVariable Long id,
                                               @Valid @RequestBody SaveResponsesRequest req) {
@@ -41,6 +52,13 @@ public class ChecklistController {
         return ResponseEntity.ok().build();
     }
 
+    // Autosave: solo los ítems cambiados desde baseRevision; devuelve la nueva revisión
+    @PatchMapping("/instances/{id}/responses")
+    public SaveResponsesResult patchResponses(@PathVariable Long id,
+                                              @Valid @RequestBody PatchResponsesRequest req) {
+        return service.patchResponses(id, req);
+    }
+
     @GetMapping("/drivers/{driverId}/instances/pending/payload")
     public ResponseEntity<PendingPayloadResponse> pendingPayload(@PathVariable Long driverId) {
         var payload = service.getPendingPayload(driverId);
@@ -2,15 +2,12 @@ package org.avyla.checklists.api;
 
 import lombok.RequiredArgsConstructor;
 import org.avyla.checklists.application.service.ChecklistTemplateQueryService;
-import org.avyla.checklists.api.dto.response.PublishedChecklistResponse;
 import org.avyla.shared.exception.NotFoundException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.WebRequest;
 
-import java.time.ZoneOffset;
-import java.time.ZonedDateTime;
-
 @RestController
 @RequestMapping("/api/checklists/templates")
 @RequiredArgsConstructor
@@ -22,28 +19,25 @@ public class ChecklistTemplatePublishedController {
      * GET /checklists/templates/{templateCode}/versions/published
      * Devuelve el diseño "published" para que el frontend lo renderice (secciones, ítems y catálogos).
      * Incluye ETag (versionHash) y Last-Modified (publishedAt) para cache condicional (304).
+     * El JSON sale precomputado de caché: un If-None-Match vigente responde 304 sin tocar la BD.
      */
-    @GetMapping("/{templateCode}/versions/published")
-    public ResponseEntity<PublishedChecklistResponse> getPublished(
+    @GetMapping(value = "/{templateCode}/versions/published", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getPublished(
             @PathVariable String templateCode,
             WebRequest webRequest
     ) {
-        PublishedChecklistResponse dto = queryService.getPublishedDesign(templateCode);
-
-        String etag = "\"" + dto.versionHash + "\"";
-        ZonedDateTime lastMod = dto.publishedAt != null
-                ? dto.publishedAt.atZoneSameInstant(ZoneOffset.UTC)
-                : ZonedDateTime.now(ZoneOffset.UTC);
+        var design = queryService.getPublishedDesignCached(templateCode);
 
-        if (webRequest.checkNotModified(etag, lastMod.toInstant().toEpochMilli())) {
+        if (webRequest.checkNotModified(design.etag(), design.lastModified())) {
             // Spring responde 304 Not Modified automáticamente
             return null;
         }
 
         return ResponseEntity.ok()
-                .eTag(etag)
-                .lastModified(lastMod.toInstant().toEpochMilli())
-                .body(dto);
+                .eTag(design.etag())
+                .lastModified(design.lastModified())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(design.json());
     }
 
     /** Mapea la NotFoundException del service a 404 (por si no hay versión publicada). */
@@ -0,0 +1,18 @@
+package org.avyla.checklists.api.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * Guardado delta (autosave): solo los ítems que cambiaron desde la última sincronización.
+ * - baseRevision: revisión de la instancia que conoce el cliente (payload pendiente / detalle / último guardado).
+ * - vehicleId/odometer con las mismas reglas que SaveResponsesRequest.
+ */
+public record PatchResponsesRequest(
+        @NotNull Long baseRevision,
+        Integer odometer,
+        Long vehicleId,
+        @NotNull @Valid List<SaveResponsesRequest.ItemResponse> changes
+) {}
@@ -9,4 +9,6 @@ public class AttachmentResponse {
     private String type;     // MIME
     private Long size;       // bytes
     private String url;      // /api/attachments/{id}
+    private String thumbnailUrl; // ?variant=thumb (solo imágenes)
+    private String previewUrl;   // ?variant=preview (solo imágenes)
 }
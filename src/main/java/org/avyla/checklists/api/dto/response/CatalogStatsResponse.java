@@ -0,0 +1,13 @@
+package org.avyla.checklists.api.dto.response;
+
+import java.time.Instant;
+
+/**
+ * Métricas del catálogo de opciones en memoria (OptionCatalogService).
+ */
+public record CatalogStatsResponse(long hits,
+                                   long misses,
+                                   long refreshes,
+                                   int groups,
+                                   int options,
+                                   Instant loadedAt) {}
@@ -0,0 +1,19 @@
+package org.avyla.checklists.api.dto.response;
+
+import java.time.Instant;
+
+/**
+ * Métricas de la rueda de expiración de instancias (ChecklistExpiryScheduler).
+ */
+public record ExpiryStatsResponse(int scheduled,
+                                  long fired,
+                                  long expired,
+                                  long sweepExpired,
+                                  long failedBatches,
+                                  long chunks,
+                                  long skippedLocked,
+                                  LastSweep lastSweep) {
+
+    /** Último barrido por bloques (ChecklistExpireJob). */
+    public record LastSweep(Instant startedAt, int expired, int chunks, long durationMs) {}
+}
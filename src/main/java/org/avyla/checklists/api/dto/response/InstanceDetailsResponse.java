@@ -10,6 +10,7 @@ import java.util.List;
 @Data @Builder
 public class InstanceDetailsResponse {
     private Long instanceId;
+    private Long revision;
     private InstanceStatus status;
     private Long driverId;
     private Long vehicleId;
@@ -35,6 +36,7 @@ public class InstanceDetailsResponse {
         private String id;
         private String filename;
         private String url;
+        private String thumbnailUrl; // miniatura JPEG (solo imágenes)
         private String type;
         private Long size;
     }
@@ -0,0 +1,11 @@
+package org.avyla.checklists.api.dto.response;
+
+import org.avyla.checklists.domain.enums.InstanceStatus;
+
+import java.time.Instant;
+
+public record InstanceListItemResponse(
+        Long instanceId, Long versionId, Long vehicleId, Long driverId, InstanceStatus status,
+        Instant startedAt, Instant dueAt, Instant completedAt,
+        String conditionGeneral, Boolean overallPass
+) {}
@@ -10,6 +10,7 @@ import java.util.List;
 @Data @Builder
 public class PendingPayloadResponse {
     private Long instanceId;
+    private Long revision; // base para el guardado delta (PATCH .../responses)
     private InstanceStatus status;
     private Instant startedAt;
     private Instant dueAt;
@@ -32,6 +33,7 @@ public class PendingPayloadResponse {
         private String id;
         private String filename;
         private String url;
+        private String thumbnailUrl; // miniatura JPEG (solo imágenes)
         private String type;
         private Long size;
     }
@@ -0,0 +1,7 @@
+package org.avyla.checklists.api.dto.response;
+
+/**
+ * Resultado del guardado delta: la nueva revisión (base del siguiente PATCH),
+ * cambios aplicados y ítems omitidos por ser idénticos a lo guardado.
+ */
+public record SaveResponsesResult(Long revision, int applied, int unchanged) {}
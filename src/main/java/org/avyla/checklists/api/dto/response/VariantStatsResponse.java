@@ -0,0 +1,11 @@
+package org.avyla.checklists.api.dto.response;
+
+/**
+ * Métricas del pipeline de miniaturas/vistas previas (AttachmentVariantService).
+ */
+public record VariantStatsResponse(long generated,
+                                   long skipped,
+                                   long failed,
+                                   long rejected,
+                                   int queued,
+                                   int active) {}
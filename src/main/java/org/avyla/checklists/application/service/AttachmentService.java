@@ -3,19 +3,25 @@ package org.avyla.checklists.application.service;
 import org.avyla.checklists.api.dto.response.AttachmentResponse;
 import org.avyla.checklists.domain.entity.ChecklistAttachment;
 import org.avyla.checklists.domain.entity.ChecklistInstance;
+import org.avyla.checklists.domain.enums.AttachmentVariant;
 import org.avyla.checklists.domain.repo.ChecklistAttachmentRepository;
 import org.avyla.checklists.domain.repo.ChecklistInstanceRepository;
 import org.avyla.checklists.domain.repo.ChecklistResponseRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.avyla.shared.storage.BlobDownload;
+import org.avyla.shared.storage.BlobReferences;
+import org.avyla.shared.storage.StreamingUploader;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
-import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
@@ -32,6 +38,9 @@ public class AttachmentService {
     private final ChecklistAttachmentRepository attachmentRepo;
     private final ChecklistResponseRepository responseRepo;
     private final ChecklistInstanceRepository instanceRepo;
+    private final StreamingUploader uploader;
+    private final BlobReferences blobRefs;
+    private final AttachmentVariantService variantService;
 
     // ===== Subida por respuesta (1 evidencia por ítem) =====
     @Transactional
@@ -47,18 +56,18 @@ public class AttachmentService {
         }
 
         var safeName = sanitizeFilename(file.getOriginalFilename());
-        var bytes = readWithLimit(file);
-        var mime = detectMime(bytes, file.getContentType());
-
-        if (!ALLOWED_MIME.contains(mime)) {
-            throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Tipo de archivo no permitido");
-        }
+        var upload = uploader.store(file, MAX_FILE_SIZE, sniffed -> acceptMime(sniffed, file.getContentType()));
+        var blob = upload.blob();
+        var mime = upload.mimeType();
+        blobRefs.pin(blob); // contenido repetido => misma fila blob_object (ref_count vía trigger)
 
         var entity = ChecklistAttachment.builder()
                 .filename(safeName)
                 .type(mime)
-                .size((long) bytes.length)
-                .data(bytes)
+                .size(blob.size())
+                .storageKey(blob.key())
+                .sha256(blob.sha256())
+                .variantStatus(initialVariantStatus(mime))
                 .response(response)     // scope RESPUESTA
                 .instance(null)
                 .createdByUserId(currentUserId)
@@ -66,21 +75,54 @@ public class AttachmentService {
                 .build();
 
         var saved = attachmentRepo.save(entity);
+        if (saved.getVariantStatus() == null) {
+            variantService.generateAfterCommit(saved.getId());
+        }
         return toDto(saved);
     }
 
     // ===== Listado por respuesta =====
     @Transactional
     public List<AttachmentResponse> listForResponse(Long responseId) {
-        return attachmentRepo.findAllByResponse_Id(responseId)
-                .stream().map(this::toDto).toList();
+        return attachmentRepo.findListingByResponseId(responseId).stream()
+                .map(a -> toDto(a.getId(), a.getFilename(), a.getType(), a.getSize()))
+                .toList();
     }
 
     // ===== Descargar =====
+    // Solo metadatos: el contenido se escribe por streaming (BlobDownloadWriter).
+    // thumb/preview sirven el JPEG reducido; si aún no existe, se sirve el original.
     @Transactional
-    public ChecklistAttachment getAttachmentOr404(UUID id) {
-        return attachmentRepo.findById(id)
+    public BlobDownload getDownloadOr404(UUID id, AttachmentVariant variant) {
+        var a = attachmentRepo.findMetaById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Adjunto no encontrado"));
+
+        // Content-Disposition seguro
+        String safeFilename = a.getFilename().replaceAll("[\\r\\n\"]", "_");
+
+        String variantKey = switch (variant) {
+            case THUMB -> a.getThumbKey();
+            case PREVIEW -> a.getPreviewKey();
+            case ORIGINAL -> null;
+        };
+        if (variantKey != null) {
+            var cd = ContentDisposition.inline()
+                    .filename(variant.name().toLowerCase() + "-" + stripExtension(safeFilename) + ".jpg", StandardCharsets.UTF_8)
+                    .build();
+            return new BlobDownload(MediaType.IMAGE_JPEG_VALUE, null, variantKey, strongEtag(variantKey), cd.toString(), null);
+        }
+
+        var cd = ContentDisposition.attachment()
+                .filename(safeFilename, StandardCharsets.UTF_8)
+                .build();
+
+        return new BlobDownload(
+                a.getType(),
+                a.getSize(),
+                a.getStorageKey(),
+                strongEtag(a.getSha256()),
+                cd.toString(),
+                new BlobDownload.LegacyColumn("checklist_attachment", "id", a.getId()));
     }
 
     // ===== Eliminar =====
@@ -93,63 +135,58 @@ public class AttachmentService {
     }
 
     // ===== Utilidades =====
+    // ETag fuerte = digest del contenido (el legado sin migrar aún no tiene digest: sin ETag)
+    private static String strongEtag(String sha256) {
+        return sha256 != null ? "\"" + sha256 + "\"" : null;
+    }
+
+    private static String stripExtension(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+
+    // PDF u otros tipos no tienen variantes; las imágenes quedan pendientes (null)
+    private static String initialVariantStatus(String mime) {
+        return mime.startsWith("image/") ? null : ChecklistAttachment.VARIANTS_NONE;
+    }
+
     private String sanitizeFilename(String name) {
         var cleaned = StringUtils.hasText(name) ? StringUtils.getFilename(name) : "file";
         // evita control chars
         return cleaned.replaceAll("[\\p{Cntrl}]+", "");
     }
 
-    private byte[] readWithLimit(MultipartFile file) {
-        if (file == null || file.isEmpty()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Archivo vacío");
+    // MIME por magic numbers (cabecera del stream) + fallback a contentType del cliente si está en whitelist
+    private String acceptMime(String sniffed, String clientType) {
+        String mime = sniffed;
+        if (mime == null) {
+            mime = (clientType != null && ALLOWED_MIME.contains(clientType)) ? clientType : "application/octet-stream";
         }
-        if (file.getSize() > MAX_FILE_SIZE) {
-            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "Archivo excede el tamaño permitido");
-        }
-        try {
-            return file.getBytes(); // suficientemente seguro con límite ya validado
-        } catch (IOException e) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No se pudo leer el archivo");
+        if (!ALLOWED_MIME.contains(mime)) {
+            throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Tipo de archivo no permitido");
         }
+        return mime;
     }
 
-    // Detección mínima por magic numbers + fallback a contentType del cliente
-    private String detectMime(byte[] bytes, String clientType) {
-        if (bytes.length >= 4) {
-            // JPEG: FF D8 FF
-            if ((bytes[0] & 0xFF) == 0xFF && (bytes[1] & 0xFF) == 0xD8 && (bytes[2] & 0xFF) == 0xFF) {
-                return "image/jpeg";
-            }
-            // PNG: 89 50 4E 47
-            if ((bytes[0] & 0xFF) == 0x89 && (bytes[1] & 0xFF) == 0x50 &&
-                    (bytes[2] & 0xFF) == 0x4E && (bytes[3] & 0xFF) == 0x47) {
-                return "image/png";
-            }
-            // PDF: 25 50 44 46 (%PDF)
-            if ((bytes[0] & 0xFF) == 0x25 && (bytes[1] & 0xFF) == 0x50 &&
-                    (bytes[2] & 0xFF) == 0x44 && (bytes[3] & 0xFF) == 0x46) {
-                return "application/pdf";
-            }
-        }
-        // Fallback: confía si coincide con whitelist
-        if (clientType != null && ALLOWED_MIME.contains(clientType)) {
-            return clientType;
-        }
-        return "application/octet-stream"; // rechazado por whitelist en upload
+    private AttachmentResponse toDto(ChecklistAttachment a) {
+        return toDto(a.getId(), a.getFilename(), a.getType(), a.getSize());
     }
 
-    private AttachmentResponse toDto(ChecklistAttachment a) {
+    private AttachmentResponse toDto(UUID id, String filename, String type, Long size) {
         var url = ServletUriComponentsBuilder.fromCurrentContextPath()
                 .path("/api/attachments/")
-                .path(a.getId().toString())
+                .path(id.toString())
                 .toUriString();
+        boolean image = type != null && type.startsWith("image/");
 
         return AttachmentResponse.builder()
-                .id(a.getId().toString())
-                .filename(a.getFilename())
-                .type(a.getType())
-                .size(a.getSize())
+                .id(id.toString())
+                .filename(filename)
+                .type(type)
+                .size(size)
                 .url(url)
+                .thumbnailUrl(image ? url + "?variant=thumb" : null)
+                .previewUrl(image ? url + "?variant=preview" : null)
                 .build();
     }
 
@@ -162,17 +199,18 @@ public class AttachmentService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Instancia no encontrada"));
 
         var safeName = sanitizeFilename(file.getOriginalFilename());
-        var bytes = readWithLimit(file);
-        var mime = detectMime(bytes, file.getContentType());
-        if (!ALLOWED_MIME.contains(mime)) {
-            throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Tipo de archivo no permitido");
-        }
+        var upload = uploader.store(file, MAX_FILE_SIZE, sniffed -> acceptMime(sniffed, file.getContentType()));
+        var blob = upload.blob();
+        var mime = upload.mimeType();
+        blobRefs.pin(blob); // contenido repetido => misma fila blob_object (ref_count vía trigger)
 
         var entity = ChecklistAttachment.builder()
                 .filename(safeName)
                 .type(mime)
-                .size((long) bytes.length)
-                .data(bytes)
+                .size(blob.size())
+                .storageKey(blob.key())
+                .sha256(blob.sha256())
+                .variantStatus(initialVariantStatus(mime))
                 .response(null)        // scope INSTANCIA
                 .instance(instance)
                 .createdByUserId(currentUserId)
@@ -180,6 +218,9 @@ public class AttachmentService {
                 .build();
 
         var saved = attachmentRepo.save(entity);
+        if (saved.getVariantStatus() == null) {
+            variantService.generateAfterCommit(saved.getId());
+        }
         return toDto(saved);
     }
 }
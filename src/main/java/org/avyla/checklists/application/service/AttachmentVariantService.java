@@ -0,0 +1,177 @@
+package org.avyla.checklists.application.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.avyla.checklists.api.dto.response.VariantStatsResponse;
+import org.avyla.checklists.config.ChecklistProperties;
+import org.avyla.checklists.domain.entity.ChecklistAttachment;
+import org.avyla.checklists.domain.enums.AttachmentVariant;
+import org.avyla.checklists.domain.repo.ChecklistAttachmentRepository;
+import org.avyla.shared.image.ImageDownscaler;
+import org.avyla.shared.storage.BlobReferences;
+import org.avyla.shared.storage.BlobStore;
+import org.avyla.shared.storage.StoredBlob;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Genera miniatura (256 px) y vista previa (1280 px) JPEG de las evidencias fotográficas, fuera del request.
+ * - Pool acotado (threads + cola fija): una ráfaga de subidas no compite sin límite por CPU/heap con la API.
+ * - Si la cola está llena la tarea se descarta; la evidencia queda pendiente y el backfill la retoma.
+ * - Mientras no haya variantes, la descarga con ?variant= sirve el original.
+ */
+@Slf4j
+@Service
+public class AttachmentVariantService {
+
+    private final ChecklistAttachmentRepository attachmentRepo;
+    private final BlobStore blobStore;
+    private final BlobReferences blobRefs;
+    private final ChecklistProperties.Variants props;
+    private final TransactionTemplate tx;
+    private final ThreadPoolExecutor executor;
+
+    // Evita encolar dos veces la misma evidencia (subida + backfill)
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong generated = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public AttachmentVariantService(ChecklistAttachmentRepository attachmentRepo,
+                                    BlobStore blobStore,
+                                    BlobReferences blobRefs,
+                                    ChecklistProperties props,
+                                    PlatformTransactionManager txManager) {
+        this.attachmentRepo = attachmentRepo;
+        this.blobStore = blobStore;
+        this.blobRefs = blobRefs;
+        this.props = props.getVariants();
+        this.tx = new TransactionTemplate(txManager);
+
+        int threads = Math.max(1, this.props.getThreads());
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, this.props.getQueueCapacity())),
+                new CustomizableThreadFactory("attachment-variants-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Encola la generación una vez confirmada la transacción actual (el worker debe ver la fila).
+     */
+    public void generateAfterCommit(UUID attachmentId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(attachmentId);
+                }
+            });
+        } else {
+            submit(attachmentId);
+        }
+    }
+
+    /**
+     * @return false si la cola está llena (la evidencia queda pendiente para el backfill)
+     */
+    public boolean submit(UUID attachmentId) {
+        if (!props.isEnabled() || !inFlight.add(attachmentId)) return true;
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(attachmentId);
+                } finally {
+                    inFlight.remove(attachmentId);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(attachmentId);
+            rejected.incrementAndGet();
+            return false;
+        }
+    }
+
+    /** Encola un lote de evidencias pendientes; se detiene al llenarse la cola. */
+    public int backfill() {
+        if (!props.isEnabled()) return 0;
+        int free = executor.getQueue().remainingCapacity();
+        if (free == 0) return 0;
+
+        List<UUID> pending = attachmentRepo.findVariantPendingIds(Math.min(free, props.getBackfillBatchSize()));
+        int queued = 0;
+        for (UUID id : pending) {
+            if (!submit(id)) break;
+            queued++;
+        }
+        return queued;
+    }
+
+    public VariantStatsResponse stats() {
+        return new VariantStatsResponse(generated.get(), skipped.get(), failed.get(), rejected.get(),
+                executor.getQueue().size(), executor.getActiveCount());
+    }
+
+    void generate(UUID attachmentId) {
+        var src = attachmentRepo.findVariantSourceById(attachmentId).orElse(null);
+        if (src == null || src.getVariantStatus() != null || src.getStorageKey() == null) return;
+
+        if (src.getType() == null || !src.getType().startsWith("image/")) {
+            markVariants(attachmentId, null, null, ChecklistAttachment.VARIANTS_NONE);
+            skipped.incrementAndGet();
+            return;
+        }
+
+        List<byte[]> jpegs;
+        try (InputStream in = blobStore.open(src.getStorageKey())) {
+            jpegs = ImageDownscaler.downscaleToJpeg(in, props.getJpegQuality(),
+                    AttachmentVariant.PREVIEW.maxEdge(), AttachmentVariant.THUMB.maxEdge());
+        } catch (IOException | RuntimeException e) {
+            // Imagen ilegible o formato no soportado: se seguirá sirviendo el original
+            log.warn("No se pudieron generar variantes de la evidencia {}: {}", attachmentId, e.getMessage());
+            markVariants(attachmentId, null, null, ChecklistAttachment.VARIANTS_NONE);
+            failed.incrementAndGet();
+            return;
+        }
+
+        try {
+            StoredBlob preview = blobStore.put(new ByteArrayInputStream(jpegs.get(0)));
+            StoredBlob thumb = blobStore.put(new ByteArrayInputStream(jpegs.get(1)));
+            tx.executeWithoutResult(s -> {
+                blobRefs.pin(preview);
+                blobRefs.pin(thumb);
+                attachmentRepo.markVariants(attachmentId, thumb.key(), preview.key(), ChecklistAttachment.VARIANTS_READY);
+            });
+            generated.incrementAndGet();
+        } catch (IOException | RuntimeException e) {
+            // Fallo de almacenamiento: queda pendiente y el backfill reintenta
+            log.warn("No se pudieron guardar las variantes de la evidencia {}: {}", attachmentId, e.getMessage());
+            failed.incrementAndGet();
+        }
+    }
+
+    private void markVariants(UUID id, String thumbKey, String previewKey, String status) {
+        tx.executeWithoutResult(s -> attachmentRepo.markVariants(id, thumbKey, previewKey, status));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
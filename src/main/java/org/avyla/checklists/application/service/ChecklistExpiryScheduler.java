@@ -0,0 +1,185 @@
+package org.avyla.checklists.application.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.avyla.checklists.api.dto.response.ExpiryStatsResponse;
+import org.avyla.checklists.config.ChecklistProperties;
+import org.avyla.checklists.domain.enums.InstanceStatus;
+import org.avyla.checklists.domain.repo.ChecklistInstanceRepository;
+import org.avyla.shared.scheduling.HierarchicalTimerWheel;
+import org.avyla.shared.scheduling.LeaderElection;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Expira instancias cerca de su dueAt (resolución de un tick) usando una rueda de temporizadores en memoria,
+ * en lugar de un UPDATE masivo por minuto.
+ * - Solo el líder (LeaderElection) mantiene la rueda: al asumir el liderazgo la siembra desde BD y al perderlo la vacía.
+ *   createInstance programa y submit cancela (tras commit); en los seguidores schedule() no hace nada,
+ *   así su rueda no acumula temporizadores que nunca avanzarían.
+ * - Cada tick dispara los vencidos y los expira por lotes (InstanceExpiryWriter: SKIP LOCKED, transacción corta);
+ *   los que un conductor tiene bloqueados se reprograman unos segundos después.
+ * - El líder recarga periódicamente desde BD lo que vence pronto, así también cubre instancias creadas en otros nodos.
+ * - ChecklistExpireJob queda como barrido de respaldo de baja frecuencia.
+ */
+@Slf4j
+@Service
+public class ChecklistExpiryScheduler {
+
+    private static final List<InstanceStatus> OPEN = List.of(InstanceStatus.PENDING, InstanceStatus.IN_PROGRESS);
+    private static final long RETRY_DELAY_MS = 2_000;
+
+    private final ChecklistInstanceRepository instanceRepo;
+    private final InstanceExpiryWriter writer;
+    private final ChecklistProperties.Expiry props;
+    private final HierarchicalTimerWheel<Long> wheel;
+    private final LeaderElection leader;
+
+    private final AtomicLong fired = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong sweepExpired = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+
+    // Liderazgo visto en el último tick (solo lo escribe el hilo del tick)
+    private volatile boolean leading;
+
+    public ChecklistExpiryScheduler(ChecklistInstanceRepository instanceRepo,
+                                    InstanceExpiryWriter writer,
+                                    ChecklistProperties props,
+                                    LeaderElection leader) {
+        this.instanceRepo = instanceRepo;
+        this.writer = writer;
+        this.leader = leader;
+        this.props = props.getExpiry();
+        this.wheel = new HierarchicalTimerWheel<>(this.props.getTick().toMillis(), 4, System.currentTimeMillis());
+    }
+
+    // Siembra completa desde BD al asumir el liderazgo; lo que hubiera en la rueda se descarta
+    void seed() {
+        var timers = instanceRepo.findOpenDueTimers(OPEN);
+        synchronized (wheel) {
+            wheel.clear(System.currentTimeMillis());
+            timers.forEach(t -> wheel.schedule(t.getId(), t.getDueAt().toEpochMilli()));
+        }
+        log.info("ChecklistExpiryScheduler: {} instancias abiertas programadas", timers.size());
+    }
+
+    public void schedule(Long instanceId, Instant dueAt) {
+        if (instanceId == null || dueAt == null) return;
+        // Un seguidor no avanza la rueda: el líder la toma de BD (seed/refill)
+        if (!leader.isLeader()) return;
+        synchronized (wheel) {
+            wheel.schedule(instanceId, dueAt.toEpochMilli());
+        }
+    }
+
+    public void cancel(Long instanceId) {
+        synchronized (wheel) {
+            wheel.cancel(instanceId);
+        }
+    }
+
+    // Solo si la transacción confirma (un rollback no debe dejar temporizadores huérfanos ni cancelar los vigentes)
+    public void scheduleAfterCommit(Long instanceId, Instant dueAt) {
+        afterCommit(() -> schedule(instanceId, dueAt));
+    }
+
+    public void cancelAfterCommit(Long instanceId) {
+        afterCommit(() -> cancel(instanceId));
+    }
+
+    @Scheduled(fixedDelayString = "${checklists.expiry.refill-interval:PT1M}",
+               initialDelayString = "${checklists.expiry.refill-interval:PT1M}")
+    public void refill() {
+        if (!leader.isLeader()) return;
+        var until = Instant.now().plus(props.getRefillInterval().multipliedBy(2));
+        var timers = instanceRepo.findOpenDueTimersBefore(OPEN, until);
+        synchronized (wheel) {
+            timers.forEach(t -> wheel.schedule(t.getId(), t.getDueAt().toEpochMilli()));
+        }
+    }
+
+    @Scheduled(fixedRateString = "${checklists.expiry.tick:PT1S}")
+    public void tick() {
+        boolean isLeader = leader.isLeader();
+        if (isLeader != leading) {
+            onLeadershipChanged(isLeader);
+        }
+        if (!isLeader) return;
+        List<Long> due;
+        synchronized (wheel) {
+            due = wheel.advance(System.currentTimeMillis());
+        }
+        if (due.isEmpty()) return;
+        fired.addAndGet(due.size());
+
+        int batch = Math.max(1, props.getBatchSize());
+        for (int from = 0; from < due.size(); from += batch) {
+            var ids = due.subList(from, Math.min(due.size(), from + batch));
+            try {
+                var result = writer.expireIds(ids, Instant.now());
+                expired.addAndGet(result.expired());
+                retryLater(result.stillOpen());
+            } catch (RuntimeException e) {
+                failedBatches.incrementAndGet();
+                log.warn("ChecklistExpiryScheduler: lote de {} instancias no expirado, se reintenta: {}", ids.size(), e.getMessage());
+                retryLater(ids);
+            }
+        }
+    }
+
+    // Al asumir: siembra (el primer tick dispara todo lo vencido). Al perderlo: vacía la rueda, el nuevo líder la recarga.
+    private void onLeadershipChanged(boolean isLeader) {
+        if (isLeader) {
+            seed();
+        } else {
+            synchronized (wheel) {
+                wheel.clear(System.currentTimeMillis());
+            }
+            log.info("ChecklistExpiryScheduler: liderazgo perdido, rueda vaciada");
+        }
+        leading = isLeader;
+    }
+
+    private void retryLater(List<Long> ids) {
+        if (ids.isEmpty()) return;
+        long retryAt = System.currentTimeMillis() + RETRY_DELAY_MS;
+        synchronized (wheel) {
+            ids.forEach(id -> wheel.schedule(id, retryAt));
+        }
+    }
+
+    /** Registra lo expirado por el barrido de respaldo (no debería crecer si la rueda funciona). */
+    public void recordSweep(int count) {
+        sweepExpired.addAndGet(count);
+    }
+
+    public ExpiryStatsResponse stats() {
+        int scheduled;
+        synchronized (wheel) {
+            scheduled = wheel.size();
+        }
+        var last = writer.lastSweep();
+        return new ExpiryStatsResponse(scheduled, fired.get(), expired.get(), sweepExpired.get(), failedBatches.get(),
+                writer.chunks(), writer.skippedLocked(),
+                new ExpiryStatsResponse.LastSweep(last.startedAt(), last.expired(), last.chunks(), last.durationMs()));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
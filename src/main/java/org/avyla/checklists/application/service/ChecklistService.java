@@ -1,8 +1,13 @@
 package org.avyla.checklists.application.service;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import lombok.RequiredArgsConstructor;
 import org.avyla.checklists.api.dto.response.InstanceDetailsResponse;
+import org.avyla.checklists.api.dto.response.InstanceListItemResponse;
 import org.avyla.checklists.api.dto.response.PendingPayloadResponse;
+import org.avyla.checklists.api.dto.response.SaveResponsesResult;
+import org.avyla.checklists.api.dto.request.PatchResponsesRequest;
 import org.avyla.checklists.api.dto.request.SaveResponsesRequest;
 import org.avyla.checklists.config.ChecklistProperties;
 import org.avyla.checklists.domain.repo.*;
@@ -15,19 +20,20 @@ import org.avyla.checklists.domain.entity.ChecklistResponse;
 import org.avyla.checklists.domain.entity.OptionItem;
 import org.avyla.shared.exception.BadRequestException;
 import org.avyla.shared.exception.NotFoundException;
+import org.avyla.shared.pagination.CursorCodec;
+import org.avyla.shared.pagination.CursorSliceResponse;
 import org.avyla.security.application.service.CurrentUserService;
 import org.avyla.vehicles.domain.repo.VehicleConditionRepository;
 import org.avyla.vehicles.domain.repo.VehicleRepository;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.PlatformTransactionManager;
-import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -50,12 +56,15 @@ public class ChecklistService {
     private final ChecklistInstanceRepository instanceRepo;
     private final ChecklistResponseRepository responseRepo;
     private final ChecklistAttachmentRepository attachmentRepo;
-    private final OptionItemRepository optionRepo;
+    private final OptionCatalogService catalog;
 
     private final VehicleRepository vehicleRepo; // repo para current_odometer
     private final VehicleConditionRepository vehicleConditionRepo;
 
     private final CurrentUserService currentUserService;
+    private final ChecklistExpiryScheduler expiryScheduler;
+
+    private final EntityManager em;
 
     /* =========================
        Crear instancia (TTL + cooldown opcional)
@@ -107,7 +116,9 @@ public class ChecklistService {
         inst.setCreatedAt(now);
         inst.setPerformedByUserId(currentUserId());
 
-        return instanceRepo.save(inst);
+        var saved = instanceRepo.save(inst);
+        expiryScheduler.scheduleAfterCommit(saved.getId(), due);
+        return saved;
     }
 
     /* =========================
@@ -115,43 +126,81 @@ public class ChecklistService {
        ========================= */
     @Transactional
     public void saveResponses(Long instanceId, SaveResponsesRequest req) {
-        var inst = instanceRepo.findByIdForUpdate(instanceId)
+        var inst = instanceRepo.findById(instanceId)
+                .orElseThrow(() -> new NotFoundException("Instancia no encontrada"));
+
+        ensureNotExpired(inst);
+        applyResponses(inst, req.vehicleId(), req.odometer(), req.responses());
+    }
+
+    /* =========================
+       Guardado delta (autosave): solo ítems cambiados desde baseRevision
+       ========================= */
+    @Transactional
+    public SaveResponsesResult patchResponses(Long instanceId, PatchResponsesRequest req) {
+        var inst = instanceRepo.findById(instanceId)
                 .orElseThrow(() -> new NotFoundException("Instancia no encontrada"));
 
         ensureNotExpired(inst);
 
+        // El delta solo es válido sobre la revisión que el cliente conoce; si otro dispositivo escribió, debe resincronizar
+        if (!Objects.equals(inst.getLockVersion(), req.baseRevision())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "La instancia está en la revisión " + inst.getLockVersion() + "; sincronice antes de guardar");
+        }
+
+        // Si hubo escritura, lockForWrite ya dejó lock_version en su valor definitivo
+        var applied = applyResponses(inst, req.vehicleId(), req.odometer(), req.changes());
+        return new SaveResponsesResult(inst.getLockVersion(), applied.items(), req.changes().size() - applied.items());
+    }
+
+    /**
+     * Aplica vehículo/odómetro y respuestas sobre la instancia.
+     * Las respuestas idénticas a lo guardado (estado, comentario y detalles) se omiten: sin UPDATE ni reescritura de detalles.
+     * Si nada cambió no se incrementa la revisión.
+     *
+     * @return respuestas insertadas o modificadas y si cambió vehículo/odómetro
+     */
+    private AppliedChanges applyResponses(ChecklistInstance inst,
+                               Long vehicleId,
+                               Integer odometer,
+                               List<SaveResponsesRequest.ItemResponse> responses) {
+        boolean instanceChanged = false;
+
         // Asignar vehículo por primera vez (si llega en request)
-        if (req.vehicleId() != null) {
-            if (inst.getVehicleId() != null && !Objects.equals(inst.getVehicleId(), req.vehicleId())) {
+        if (vehicleId != null) {
+            if (inst.getVehicleId() != null && !Objects.equals(inst.getVehicleId(), vehicleId)) {
                 throw new ResponseStatusException(HttpStatus.CONFLICT, "La instancia ya tiene un vehículo asignado");
             }
             if (inst.getVehicleId() == null) {
-                if (req.odometer() == null) {
+                if (odometer == null) {
                     throw new BadRequestException("Se requiere odómetro al asignar el vehículo");
                 }
-                var veh = vehicleRepo.findById(req.vehicleId())
+                var veh = vehicleRepo.findById(vehicleId)
                         .orElseThrow(() -> new BadRequestException("Vehículo inválido"));
                 int last = Optional.ofNullable(veh.getCurrentOdometer()).orElse(0);
-                if (req.odometer() < last) {
+                if (odometer < last) {
                     throw new BadRequestException("El odómetro debe ser mayor o igual a " + last);
                 }
-                inst.setVehicleId(req.vehicleId());
-                inst.setOdometer(req.odometer());
+                inst.setVehicleId(vehicleId);
+                inst.setOdometer(odometer);
+                instanceChanged = true;
             }
         }
 
         // Actualizar odómetro (sin reasignar vehículo)
-        if (req.odometer() != null) {
+        if (odometer != null && !Objects.equals(inst.getOdometer(), odometer)) {
             if (inst.getVehicleId() == null) {
                 throw new BadRequestException("No puedes reportar odómetro sin un vehículo asignado");
             }
             var veh = vehicleRepo.findById(inst.getVehicleId())
                     .orElseThrow(() -> new BadRequestException("Vehículo inválido"));
             int last = Optional.ofNullable(veh.getCurrentOdometer()).orElse(0);
-            if (req.odometer() < last) {
+            if (odometer < last) {
                 throw new BadRequestException("El odómetro debe ser mayor o igual a " + last);
             }
-            inst.setOdometer(req.odometer());
+            inst.setOdometer(odometer);
+            instanceChanged = true;
         }
 
         // Ítems de la versión (map por code)
@@ -161,7 +210,15 @@ public class ChecklistService {
         // Mapa enum -> option_id (OK/OBS/NOOP/NA)
         var estadoIds = getEstadoIdsByEnum();
 
-        for (var r : req.responses()) {
+        // Respuestas existentes de la instancia (una sola consulta, con sus detalles)
+        var existingByItemId = responseRepo.findWithOptionsByInstanceId(inst.getId()).stream()
+                .collect(Collectors.toMap(r -> r.getItem().getId(), r -> r));
+
+        var toInsert = new ArrayList<ChecklistResponse>();
+        int changed = 0;
+        Long createdBy = null;
+
+        for (var r : responses) {
             var item = Optional.ofNullable(itemByCode.get(r.itemCode()))
                     .orElseThrow(() -> new BadRequestException("itemCode inválido: " + r.itemCode()));
 
@@ -186,48 +243,67 @@ public class ChecklistService {
                 throw new BadRequestException("Seleccione al menos un detalle en " + item.getCode());
             }
 
-            // UPSERT de la respuesta (relación por instancia+ítem)
-            var resp = responseRepo.findOneByInstanceAndItem(inst.getId(), item.getId())
-                    .orElseGet(() -> {
-                        var nr = new ChecklistResponse();
-                        nr.setInstance(inst);
-                        nr.setItem(item);
-                        nr.setCreatedAt(Instant.now());
-                        nr.setCreatedByUserId(currentUserId());
-                        return nr;
-                    });
+            // Ids de detalle (resueltos desde el catálogo en memoria)
+            List<Long> detailIds = Collections.emptyList();
+            if (item.getDetailOptionGroup() != null && r.details() != null && !r.details().isEmpty()) {
+                Long groupId = item.getDetailOptionGroup().getId();
+                detailIds = new ArrayList<>(r.details().size());
+                for (String detCode : r.details()) {
+                    detailIds.add(catalog.optionId(groupId, detCode)
+                            .orElseThrow(() -> new BadRequestException(
+                                    "Detalle inválido '" + detCode + "' para " + item.getCode())));
+                }
+            }
+
+            // UPSERT de la respuesta (relación por instancia+ítem); sin cambios -> no se toca
+            var resp = existingByItemId.get(item.getId());
+            if (resp == null) {
+                if (createdBy == null) createdBy = currentUserId();
+                resp = new ChecklistResponse();
+                resp.setInstance(inst);
+                resp.setItem(item);
+                resp.setCreatedAt(Instant.now());
+                resp.setCreatedByUserId(createdBy);
+                existingByItemId.put(item.getId(), resp);
+                toInsert.add(resp);
+            } else if (resp.hasSameAnswer(estadoId, r.comment(), detailIds)) {
+                continue;
+            }
+            changed++;
 
             var selected = new OptionItem();
             selected.setId(estadoId);
             resp.setSelectedOption(selected);
             resp.setComment(r.comment());
-            responseRepo.save(resp);
-
 
-            // Construir la lista de OptionItem "ligeros" (solo id) para los detalles
-            List<OptionItem> newOptions = java.util.Collections.emptyList();
-            if (item.getDetailOptionGroup() != null && r.details() != null && !r.details().isEmpty()) {
-                newOptions = new java.util.ArrayList<>(r.details().size());
-                for (String detCode : r.details()) {
-                    Long optId = optionRepo
-                            .findIdByGroupIdAndCode(item.getDetailOptionGroup().getId(), detCode)
-                            .orElseThrow(() -> new BadRequestException(
-                                    "Detalle inválido '" + detCode + "' para " + item.getCode()));
-                    OptionItem oi = new OptionItem();
-                    oi.setId(optId);
-                    newOptions.add(oi);
-                }
+            // OptionItem "ligeros" (solo id); reemplaza los detalles previos
+            List<OptionItem> newOptions = new ArrayList<>(detailIds.size());
+            for (Long optId : detailIds) {
+                OptionItem oi = new OptionItem();
+                oi.setId(optId);
+                newOptions.add(oi);
             }
-
-            // Reemplazar detalles con la relación (borra los previos y añade los nuevos)
             resp.replaceOptions(newOptions);
+        }
 
-            // Persistir cambios de la respuesta y sus hijos (cascade = ALL)
-            responseRepo.save(resp);
+        var applied = new AppliedChanges(changed, instanceChanged);
+        if (!applied.written()) return applied;
 
-        }
+        lockForWrite(inst, instanceChanged);
+
+        // Inserciones nuevas en lote; las existentes se actualizan por dirty checking al flush
+        // (hibernate.jdbc.batch_size + order_inserts/order_updates agrupan las sentencias)
+        responseRepo.saveAll(toInsert);
 
         instanceRepo.save(inst);
+        return applied;
+    }
+
+    /** Resultado de applyResponses: ítems escritos y cambio de vehículo/odómetro (este último no cuenta como ítem). */
+    private record AppliedChanges(int items, boolean instanceChanged) {
+        boolean written() {
+            return items > 0 || instanceChanged;
+        }
     }
 
     /* =========================
@@ -247,6 +323,8 @@ public class ChecklistService {
 
         // Respuestas parciales
         var estadoById = getEstadoById();
+        var attachments = attachmentsByResponse(inst.getId());
+        var baseUrl = attachmentsBaseUrl();
         var partial = responseRepo.findGraphByInstanceId(inst.getId()).stream()
                 .map(r -> PendingPayloadResponse.ItemSnapshotDto.builder()
                         .itemCode(r.getItem().getCode())
@@ -257,7 +335,7 @@ public class ChecklistService {
                                         .toList()
                         )
                         .comment(r.getComment())
-                        .attachments(attachmentsLite(r.getId()))
+                        .attachments(attachmentsLite(attachments.get(r.getId()), baseUrl))
                         .build())
                 .toList();
 
@@ -267,6 +345,7 @@ public class ChecklistService {
 
         return PendingPayloadResponse.builder()
                 .instanceId(inst.getId())
+                .revision(inst.getLockVersion())
                 .status(inst.getStatus())     // String
                 .startedAt(inst.getStartedAt())
                 .dueAt(inst.getDueAt())
@@ -276,6 +355,35 @@ public class ChecklistService {
                 .build();
     }
 
+    /* =========================
+       Listado por cursor
+       ========================= */
+    // Primera página: antes de cualquier started_at real
+    private static final Instant SCROLL_START = Instant.parse("9999-12-31T00:00:00Z");
+
+    @Transactional(readOnly = true)
+    public CursorSliceResponse<InstanceListItemResponse> scrollInstances(String cursor, Integer size) {
+        var before = CursorCodec.decode(cursor);
+        int pageSize = CursorCodec.size(size);
+
+        Instant beforeStarted;
+        try {
+            beforeStarted = before != null ? Instant.parse(before.key()) : SCROLL_START;
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Cursor inválido");
+        }
+
+        var rows = instanceRepo.findPageBefore(beforeStarted,
+                before != null ? before.id() : Long.MAX_VALUE,
+                PageRequest.ofSize(pageSize + 1));
+
+        return CursorSliceResponse.of(rows, pageSize,
+                r -> new InstanceListItemResponse(r.getId(), r.getVersionId(), r.getVehicleId(), r.getDriverId(),
+                        r.getStatus(), r.getStartedAt(), r.getDueAt(), r.getCompletedAt(),
+                        r.getConditionGeneral(), r.getOverallPass()),
+                r -> CursorCodec.encode(r.getStartedAt().toString(), r.getId()));
+    }
+
     /* =========================
        Detalles completos
        ========================= */
@@ -285,28 +393,27 @@ public class ChecklistService {
                 .orElseThrow(() -> new NotFoundException("Instancia no encontrada"));
 
         var estadoById = getEstadoById();
+        var attachments = attachmentsByResponse(instanceId);
+        var baseUrl = attachmentsBaseUrl();
+        // Una sola lectura de respuestas: DTOs y resumen en la misma pasada
+        var tally = new ResponseTally();
         var items = responseRepo.findGraphByInstanceId(instanceId).stream()
-                .map(r -> InstanceDetailsResponse.ItemDetailDto.builder()
-                        .itemCode(r.getItem().getCode())
-                        .state(estadoOf(r, estadoById).name())
-                        .details(r.getOptions().stream().map(o -> o.getOption().getCode()).toList())
-                        .comment(r.getComment())
-                        .attachments(attachmentsDetails(r.getId()))
-                        .build())
+                .map(r -> {
+                    var st = estadoOf(r, estadoById);
+                    tally.add(st, SeverityOptions.from(r.getItem().getSeverity()));
+                    return InstanceDetailsResponse.ItemDetailDto.builder()
+                            .itemCode(r.getItem().getCode())
+                            .state(st.name())
+                            .details(r.getOptions().stream().map(o -> o.getOption().getCode()).toList())
+                            .comment(r.getComment())
+                            .attachments(attachmentsDetails(attachments.get(r.getId()), baseUrl))
+                            .build();
+                })
                 .toList();
 
-        long total = items.size();
-        long ok = items.stream().filter(i -> "OK".equals(i.getState())).count();
-        long obs = items.stream().filter(i -> "OBS".equals(i.getState())).count();
-        long noop = items.stream().filter(i -> "NOOP".equals(i.getState())).count();
-
-        // Si tienes severidad por ítem, cuenta críticos NOOP
-        long criticalNoop = countCriticalNoop(instanceId);
-
-        String overall = computeOverall(ok, obs, noop);
-
         return InstanceDetailsResponse.builder()
                 .instanceId(inst.getId())
+                .revision(inst.getLockVersion())
                 .status(inst.getStatus()) // String
                 .driverId(inst.getDriverId())
                 .vehicleId(inst.getVehicleId())
@@ -317,12 +424,12 @@ public class ChecklistService {
                 .completedAt(inst.getCompletedAt())
                 .responses(items)
                 .summary(InstanceDetailsResponse.Summary.builder()
-                        .total(total)
-                        .okCount(ok)
-                        .oobCount(obs)
-                        .noopCount(noop)
-                        .criticalNoopCount(criticalNoop)
-                        .overall(overall)
+                        .total(tally.total())
+                        .okCount(tally.ok())
+                        .oobCount(tally.obs())
+                        .noopCount(tally.noop())
+                        .criticalNoopCount(tally.criticalNoop())
+                        .overall(tally.overall())
                         .build())
                 .build();
     }
@@ -333,18 +440,21 @@ public class ChecklistService {
     @Transactional
     public void submit(Long instanceId) {
 
-        var inst = instanceRepo.findByIdForUpdate(instanceId)
+        var inst = instanceRepo.findById(instanceId)
                 .orElseThrow(() -> new NotFoundException("Instancia no encontrada"));
 
         ensureNotExpired(inst);
-        enforceEvidenceRules(inst);
 
-        String calculatedCondition = calculateConditionGeneral(inst);
-        inst.setConditionGeneral(calculatedCondition);
+        // Una sola lectura de respuestas (con ítem) para reglas de evidencia y condición
+        var responses = responseRepo.findByInstance_IdWithItem(inst.getId());
+        var tally = enforceEvidenceRules(inst, responses);
+        inst.setConditionGeneral(tally.conditionGeneral());
 
         // 3) Se marca el estado de la instancia
         inst.setStatus(InstanceStatus.SUBMITTED);
         inst.setCompletedAt(Instant.now());
+        lockForWrite(inst, true);
+        expiryScheduler.cancelAfterCommit(inst.getId());
 
 
         // 4) Actualizar odómetro y condición operativa en vehículo (si aplica)
@@ -374,117 +484,109 @@ public class ChecklistService {
         instanceRepo.save(inst);
     }
 
-    //Calculo de condicion
-
-    private String calculateConditionGeneral(ChecklistInstance inst){
-        var responses =  responseRepo.findByInstance_Id(inst.getId());
-
-        long criticalNoop = responses.stream()
-                .filter(r -> r.getItem().getSeverity().equals("CRITICAL") &&
-                        r.getSelectedOption().getCode().equals("NOOP"))
-                .count();
-        if (criticalNoop > 0){
-            return "NO_APTO";
-        }
-        long anyObs = responses.stream()
-                .filter(r -> r.getSelectedOption().getCode().equals("OBS"))
-                .count();
-
-        long anyNoop = responses.stream()
-                .filter(r -> r.getSelectedOption().getCode().equals("NOOP"))
-                .count();
-
-        if (anyObs > 0 || anyNoop > 0) {
-            return "APTO_RESTRICCIONES";
-        }
-
-        return "APTO";
-    }
-
     /* =========================
        Helpers
        ========================= */
 
-    private final PlatformTransactionManager txManager;
+    // Validaciones y lecturas van sin lock; aquí se incrementa lock_version (una sola vez) con un UPDATE condicionado
+    // a la versión leída, antes de insertar respuestas:
+    // - Instancia modificada (vehículo/odómetro/estado): flush inmediato, el UPDATE de @Version hace el incremento.
+    // - Solo respuestas: PESSIMISTIC_FORCE_INCREMENT emite ese mismo UPDATE sin otros cambios.
+    // En ambos casos el UPDATE deja la fila de la instancia bloqueada hasta el commit (fase de escritura). Si otra
+    // petición (u otra expiración) escribió antes, falla con OptimisticLockException -> 409 retryable (GlobalExceptionHandler).
+    private void lockForWrite(ChecklistInstance inst, boolean instanceDirty) {
+        if (instanceDirty) {
+            em.flush();
+        } else {
+            em.lock(inst, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+        }
+    }
 
+    // Sin escritura en el request: la rueda de expiración (o el barrido) persiste EXPIRED.
+    // Se reprograma por si este nodo no la tenía (creada en otra réplica): se expira en el próximo tick.
     private void ensureNotExpired(ChecklistInstance inst) {
         if (inst.getDueAt() != null && Instant.now().isAfter(inst.getDueAt())) {
-            var tt = new TransactionTemplate(txManager);
-            tt.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW); // <- clave
-            tt.executeWithoutResult(status -> {
-                var attached = instanceRepo.getReferenceById(inst.getId());
-                // Idempotente: no sobreescribir si ya estaba expirado
-                if (attached.getStatus() != InstanceStatus.EXPIRED) {
-                    attached.setStatus(InstanceStatus.EXPIRED);
-                    attached.setCompletedAt(Instant.now());
-                    instanceRepo.save(attached);
-                }
-            });
+            expiryScheduler.schedule(inst.getId(), inst.getDueAt());
             throw new ResponseStatusException(HttpStatus.GONE, "La instancia ha expirado");
         }
     }
 
-    private List<PendingPayloadResponse.AttachmentLite> attachmentsLite(Long responseId) {
-        return attachmentRepo.findAllByResponse_Id(responseId).stream()
-                .map(a -> PendingPayloadResponse.AttachmentLite.builder()
-                        .id(a.getId().toString())
-                        .filename(a.getFilename())
-                        .type(a.getType())
-                        .size(a.getSize())
-                        .url(ServletUriComponentsBuilder.fromCurrentContextPath()
-                                .path("/api/attachments/").path(a.getId().toString()).toUriString())
-                        .build())
-                .toList();
+    // Metadatos de todas las evidencias de la instancia en una sola consulta (sin la columna data), por respuesta
+    private Map<Long, List<ChecklistAttachmentRepository.AttachmentListingView>> attachmentsByResponse(Long instanceId) {
+        return attachmentRepo.findListingByInstanceId(instanceId).stream()
+                .collect(Collectors.groupingBy(ChecklistAttachmentRepository.AttachmentListingView::getResponseId));
     }
 
-    private List<InstanceDetailsResponse.AttachmentLite> attachmentsDetails(Long responseId) {
-        return attachmentRepo.findAllByResponse_Id(responseId).stream()
-                .map(a -> InstanceDetailsResponse.AttachmentLite.builder()
-                        .id(a.getId().toString())
-                        .filename(a.getFilename())
-                        .type(a.getType())
-                        .size(a.getSize())
-                        .url(ServletUriComponentsBuilder.fromCurrentContextPath()
-                                .path("/api/attachments/").path(a.getId().toString()).toUriString())
-                        .build())
-                .toList();
+    // Base /api/attachments/ calculada una vez por request
+    private static String attachmentsBaseUrl() {
+        return ServletUriComponentsBuilder.fromCurrentContextPath().path("/api/attachments/").toUriString();
     }
 
+    private static String thumbnailUrl(String url, String type) {
+        return type != null && type.startsWith("image/") ? url + "?variant=thumb" : null;
+    }
 
-    private long countCriticalNoop(Long instanceId) {
-        var estados = getEstadoById();
-        return responseRepo.findByInstance_IdWithItem(instanceId).stream()
-                .filter(r -> {
-                    var sev = SeverityOptions.from(r.getItem().getSeverity());
-                    var st = estadoOf(r, estados);
-                    return sev == SeverityOptions.CRITICAL && st == ResponseState.NOOP;
+    private static List<PendingPayloadResponse.AttachmentLite> attachmentsLite(
+            List<ChecklistAttachmentRepository.AttachmentListingView> attachments, String baseUrl) {
+        if (attachments == null) return List.of();
+        return attachments.stream()
+                .map(a -> {
+                    var url = baseUrl + a.getId();
+                    return PendingPayloadResponse.AttachmentLite.builder()
+                            .id(a.getId().toString())
+                            .filename(a.getFilename())
+                            .type(a.getType())
+                            .size(a.getSize())
+                            .url(url)
+                            .thumbnailUrl(thumbnailUrl(url, a.getType()))
+                            .build();
                 })
-                .count();
+                .toList();
     }
 
-    // Sencilla: si hay NOOP -> NO_APTO; si hay OBS -> APTO_RESTRICCIONES; si no -> APTO
-    private String computeOverall(long ok, long obs, long noop) {
-        if (noop > 0) return "NO_APTO";
-        if (obs > 0) return "APTO_RESTRICCIONES";
-        return "APTO";
+    private static List<InstanceDetailsResponse.AttachmentLite> attachmentsDetails(
+            List<ChecklistAttachmentRepository.AttachmentListingView> attachments, String baseUrl) {
+        if (attachments == null) return List.of();
+        return attachments.stream()
+                .map(a -> {
+                    var url = baseUrl + a.getId();
+                    return InstanceDetailsResponse.AttachmentLite.builder()
+                            .id(a.getId().toString())
+                            .filename(a.getFilename())
+                            .type(a.getType())
+                            .size(a.getSize())
+                            .url(url)
+                            .thumbnailUrl(thumbnailUrl(url, a.getType()))
+                            .build();
+                })
+                .toList();
     }
 
-    private void enforceEvidenceRules(ChecklistInstance inst) {
-        var items = itemRepo.findByVersion_IdOrderBySection_OrderIndexAscOrderIndexAsc(inst.getVersion().getId())
-                .stream().collect(Collectors.toMap(ChecklistItem::getId, it -> it));
+    /**
+     * Críticos en NOOP requieren evidencia; acumula el resumen en la misma pasada.
+     * Las respuestas con evidencia se resuelven en una sola consulta.
+     */
+    private ResponseTally enforceEvidenceRules(ChecklistInstance inst, List<ChecklistResponse> responses) {
         var estados = getEstadoById();
-        var responses = responseRepo.findByInstance_Id(inst.getId());
+        Set<Long> withEvidence = null;
+        var tally = new ResponseTally();
 
         for (var r : responses) {
-            var it = items.get(r.getItem().getId());
+            var it = r.getItem();
             var st = estadoOf(r, estados);
-            if (SeverityOptions.from(it.getSeverity()) == SeverityOptions.CRITICAL &&
-                    st == ResponseState.NOOP) {
-                if (!attachmentRepo.existsByResponse_Id(r.getId())) {
+            var sev = SeverityOptions.from(it.getSeverity());
+            tally.add(st, sev);
+
+            if (sev == SeverityOptions.CRITICAL && st == ResponseState.NOOP) {
+                if (withEvidence == null) {
+                    withEvidence = attachmentRepo.findResponseIdsWithAttachments(inst.getId());
+                }
+                if (!withEvidence.contains(r.getId())) {
                     throw new BadRequestException("Se requiere evidencia (foto) para " + it.getCode() + " crítico en NOOP.");
                 }
             }
         }
+        return tally;
     }
 
     private Long currentUserId() {
@@ -492,25 +594,17 @@ public class ChecklistService {
     }
 
     /**
-     * {ResponseState -> option_id}
+     * {ResponseState -> option_id} (catálogo en memoria)
      */
-    private EnumMap<ResponseState, Long> getEstadoIdsByEnum() {
-        var map = new EnumMap<ResponseState, Long>(ResponseState.class);
-        for (ResponseState st : ResponseState.values()) {
-            Long id = optionRepo.findEstadoGeneralId(st.name())
-                    .orElseThrow(() -> new IllegalStateException("No existe OptionItem para estado: " + st.name()));
-            map.put(st, id);
-        }
-        return map;
+    private Map<ResponseState, Long> getEstadoIdsByEnum() {
+        return catalog.estadoIdsByEnum();
     }
 
     /**
-     * {option_id -> ResponseState}
+     * {option_id -> ResponseState} (catálogo en memoria)
      */
     private Map<Long, ResponseState> getEstadoById() {
-        var byEnum = getEstadoIdsByEnum();
-        return byEnum.entrySet().stream()
-                .collect(Collectors.toMap(Map.Entry::getValue, Map.Entry::getKey));
+        return catalog.estadoById();
     }
 
     /**
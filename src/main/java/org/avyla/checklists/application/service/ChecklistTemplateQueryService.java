@@ -1,5 +1,7 @@
 package org.avyla.checklists.application.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.avyla.checklists.api.dto.response.PublishedChecklistResponse;
 import org.avyla.checklists.api.dto.response.PublishedChecklistResponse.CatalogItemDTO;
 import org.avyla.checklists.api.dto.response.PublishedChecklistResponse.ItemDTO;
@@ -12,8 +14,14 @@ import org.avyla.checklists.domain.enums.ResponseState;
 import org.avyla.checklists.domain.enums.SeverityOptions;
 import org.avyla.shared.exception.NotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.*;
@@ -26,17 +34,51 @@ public class ChecklistTemplateQueryService {
     private final ChecklistSectionRepository sectionRepo;
     private final ChecklistItemRepository itemRepo;
     private final OptionItemRepository optionItemRepo;
+    private final PublishedDesignCache cache;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTx;
 
     public ChecklistTemplateQueryService(
             ChecklistVersionRepository versionRepo,
             ChecklistSectionRepository sectionRepo,
             ChecklistItemRepository itemRepo,
-            OptionItemRepository optionItemRepo
+            OptionItemRepository optionItemRepo,
+            PublishedDesignCache cache,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager txManager
     ) {
         this.versionRepo = versionRepo;
         this.sectionRepo = sectionRepo;
         this.itemRepo = itemRepo;
         this.optionItemRepo = optionItemRepo;
+        this.cache = cache;
+        this.objectMapper = objectMapper;
+        this.readOnlyTx = new TransactionTemplate(txManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    /**
+     * Diseño publicado desde caché (JSON + ETag precomputados).
+     * Solo consulta la BD en el primer acceso, tras una publicación o al vencer el TTL.
+     * Sin @Transactional a propósito: un hit no debe abrir transacción ni pedir conexión al pool.
+     */
+    public PublishedDesignCache.Entry getPublishedDesignCached(String templateCode) {
+        return cache.get(templateCode, code -> readOnlyTx.execute(status -> toCacheEntry(getPublishedDesign(code))));
+    }
+
+    private PublishedDesignCache.Entry toCacheEntry(PublishedChecklistResponse dto) {
+        try {
+            var lastMod = dto.publishedAt != null ? dto.publishedAt.toInstant() : Instant.now();
+            return new PublishedDesignCache.Entry(
+                    dto.templateCode,
+                    dto.versionId,
+                    "\"" + dto.versionHash + "\"",
+                    lastMod.toEpochMilli(),
+                    objectMapper.writeValueAsBytes(dto),
+                    cache.expiresAtFrom(Instant.now()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el diseño publicado: " + dto.templateCode, e);
+        }
     }
 
     @Transactional(readOnly = true)
@@ -138,7 +180,7 @@ public class ChecklistTemplateQueryService {
 
     private String computeVersionHash(PublishedChecklistResponse dto) {
         try {
-            var md = java.security.MessageDigest.getInstance("SHA-256");
+            var md = MessageDigest.getInstance("SHA-256");
             var sb = new StringBuilder();
             sb.append(dto.templateCode).append('|')
                     .append(dto.versionId).append('|')
@@ -172,11 +214,9 @@ public class ChecklistTemplateQueryService {
                 });
             }
 
-            byte[] hash = md.digest(sb.toString().getBytes(java.nio.charset.StandardCharsets.UTF_8));
-            StringBuilder hex = new StringBuilder();
-            for (byte b : hash) hex.append(String.format("%02x", b));
-            return hex.toString();
-        } catch (Exception e) {
+            byte[] hash = md.digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
             return "nohash";
         }
     }
@@ -0,0 +1,168 @@
+package org.avyla.checklists.application.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Escritura de expiraciones por bloques acotados, cada bloque en su propia transacción corta.
+ * - Keyset sobre (due_at, instance_id): cada bloque continúa donde terminó el anterior, sin OFFSET.
+ * - FOR UPDATE SKIP LOCKED: una instancia en plena escritura de un conductor (saveResponses/submit)
+ *   se salta en lugar de esperar; la expira el siguiente tick o barrido.
+ * - Incrementa lock_version: un guardado que leyó la instancia antes de expirar falla con 409 en lugar de reabrirla.
+ * Así la expiración nunca retiene más de un bloque de locks ni bloquea el tráfico interactivo.
+ */
+@Slf4j
+@Component
+public class InstanceExpiryWriter {
+
+    // status en BD = nombre del enum (V4)
+    private static final String CHUNK_SQL = """
+            with due as (
+              select instance_id from checklist_instance
+              where status in ('PENDING', 'IN_PROGRESS')
+                and due_at <= ?
+                and (due_at, instance_id) > (?::timestamptz, ?::bigint)
+              order by due_at, instance_id
+              limit ?
+              for update skip locked
+            )
+            update checklist_instance i
+               set status = 'EXPIRED', completed_at = ?, lock_version = i.lock_version + 1
+              from due
+             where i.instance_id = due.instance_id
+            returning i.instance_id, i.due_at
+            """;
+
+    private static final String BY_IDS_SQL = """
+            with due as (
+              select instance_id from checklist_instance
+              where instance_id = any(?)
+                and status in ('PENDING', 'IN_PROGRESS')
+                and due_at <= ?
+              for update skip locked
+            )
+            update checklist_instance i
+               set status = 'EXPIRED', completed_at = ?, lock_version = i.lock_version + 1
+              from due
+             where i.instance_id = due.instance_id
+            returning i.instance_id
+            """;
+
+    private static final String STILL_OPEN_SQL = """
+            select instance_id from checklist_instance
+            where instance_id = any(?)
+              and status in ('PENDING', 'IN_PROGRESS')
+              and due_at <= ?
+            """;
+
+    private static final Timestamp MIN_DUE = Timestamp.from(Instant.EPOCH);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+
+    // Solo bloques del barrido; los lotes del tick los cuenta ChecklistExpiryScheduler (fired/expired)
+    private final AtomicLong chunks = new AtomicLong();
+    private final AtomicLong skippedLocked = new AtomicLong();
+    private volatile SweepResult lastSweep = new SweepResult(0, 0, 0, null);
+
+    public InstanceExpiryWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager txManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(txManager);
+    }
+
+    /** Resultado de un barrido: instancias expiradas, bloques, duración y momento de inicio. */
+    public record SweepResult(int expired, int chunks, long durationMs, Instant startedAt) {}
+
+    /** Resultado de expirar ids puntuales: los expirados y los que siguen abiertos (bloqueados, reintentar). */
+    public record IdsResult(int expired, List<Long> stillOpen) {}
+
+    /**
+     * Recorre todas las instancias vencidas a now por bloques de chunkSize (una transacción por bloque).
+     */
+    public SweepResult sweep(Instant now, int chunkSize) {
+        long started = System.nanoTime();
+        Timestamp nowTs = Timestamp.from(now);
+        Timestamp afterDue = MIN_DUE;
+        long afterId = 0;
+        int total = 0;
+        int blocks = 0;
+
+        while (true) {
+            final Timestamp fromDue = afterDue;
+            final long fromId = afterId;
+            List<Object[]> rows = tx.execute(s -> jdbcTemplate.query(CHUNK_SQL,
+                    (rs, i) -> new Object[]{rs.getLong(1), rs.getTimestamp(2)},
+                    nowTs, fromDue, fromId, chunkSize, nowTs));
+            if (rows == null || rows.isEmpty()) break;
+
+            blocks++;
+            chunks.incrementAndGet();
+            total += rows.size();
+            // RETURNING no garantiza orden: el cursor avanza al mayor (due_at, id) procesado
+            for (Object[] r : rows) {
+                Timestamp due = (Timestamp) r[1];
+                long id = (Long) r[0];
+                int cmp = due.compareTo(afterDue);
+                if (cmp > 0 || (cmp == 0 && id > afterId)) {
+                    afterDue = due;
+                    afterId = id;
+                }
+            }
+            log.debug("InstanceExpiryWriter: bloque {} con {} instancias (cursor {} / {})", blocks, rows.size(), afterDue, afterId);
+            if (rows.size() < chunkSize) break;
+        }
+
+        var result = new SweepResult(total, blocks, (System.nanoTime() - started) / 1_000_000, now);
+        lastSweep = result;
+        return result;
+    }
+
+    /**
+     * Expira los ids indicados (ya vencidos según la rueda) en una transacción corta.
+     */
+    public IdsResult expireIds(Collection<Long> ids, Instant now) {
+        Long[] arr = ids.toArray(Long[]::new);
+        Timestamp nowTs = Timestamp.from(now);
+
+        List<Long> expired = tx.execute(s -> jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(BY_IDS_SQL);
+            ps.setArray(1, con.createArrayOf("bigint", arr));
+            ps.setTimestamp(2, nowTs);
+            ps.setTimestamp(3, nowTs);
+            return ps;
+        }, (rs, i) -> rs.getLong(1)));
+
+        int count = expired == null ? 0 : expired.size();
+        if (count == arr.length) return new IdsResult(count, List.of());
+
+        // Los no expirados pueden estar cerrados (submit) o bloqueados (SKIP LOCKED): solo se reintentan los abiertos
+        List<Long> stillOpen = jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(STILL_OPEN_SQL);
+            ps.setArray(1, con.createArrayOf("bigint", arr));
+            ps.setTimestamp(2, nowTs);
+            return ps;
+        }, (rs, i) -> rs.getLong(1));
+        skippedLocked.addAndGet(stillOpen.size());
+        return new IdsResult(count, stillOpen);
+    }
+
+    public long chunks() {
+        return chunks.get();
+    }
+
+    public long skippedLocked() {
+        return skippedLocked.get();
+    }
+
+    public SweepResult lastSweep() {
+        return lastSweep;
+    }
+}
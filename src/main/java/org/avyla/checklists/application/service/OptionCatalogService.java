@@ -0,0 +1,140 @@
+package org.avyla.checklists.application.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.avyla.checklists.api.dto.response.CatalogStatsResponse;
+import org.avyla.checklists.domain.enums.ResponseState;
+import org.avyla.checklists.domain.repo.OptionItemRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Catálogo en memoria de option_group / option_item.
+ * - Se carga completo en una sola consulta y se publica como snapshot inmutable.
+ * - Lecturas sin bloqueo (referencia volatile); refresh reemplaza el snapshot completo.
+ * - Un miss consulta la BD (ítem creado después del último refresh) sin alterar el snapshot.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OptionCatalogService {
+
+    static final String ESTADO_GENERAL = "EstadoGeneral";
+
+    private final OptionItemRepository optionRepo;
+
+    private volatile Snapshot snapshot;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+
+    /**
+     * {ResponseState -> option_id} del grupo EstadoGeneral
+     */
+    public Map<ResponseState, Long> estadoIdsByEnum() {
+        var estadoIds = current().estadoIds;
+        for (ResponseState st : ResponseState.values()) {
+            if (!estadoIds.containsKey(st)) {
+                throw new IllegalStateException("No existe OptionItem para estado: " + st.name());
+            }
+        }
+        hits.incrementAndGet();
+        return estadoIds;
+    }
+
+    /**
+     * {option_id -> ResponseState} del grupo EstadoGeneral
+     */
+    public Map<Long, ResponseState> estadoById() {
+        hits.incrementAndGet();
+        return current().estadoById;
+    }
+
+    /**
+     * option_id de un código dentro de un grupo (detalles de ítem)
+     */
+    public Optional<Long> optionId(Long groupId, String code) {
+        var codes = current().codesByGroupId.get(groupId);
+        Long id = codes != null ? codes.get(code) : null;
+        if (id != null) {
+            hits.incrementAndGet();
+            return Optional.of(id);
+        }
+        misses.incrementAndGet();
+        return optionRepo.findIdByGroupIdAndCode(groupId, code);
+    }
+
+    /**
+     * Recarga el catálogo completo y reemplaza el snapshot de forma atómica.
+     */
+    @Transactional(readOnly = true)
+    public synchronized CatalogStatsResponse refresh() {
+        var rows = optionRepo.findAllActiveCodes();
+
+        var byGroup = new HashMap<Long, Map<String, Long>>();
+        var estadoIds = new EnumMap<ResponseState, Long>(ResponseState.class);
+        for (var row : rows) {
+            byGroup.computeIfAbsent(row.getGroupId(), g -> new HashMap<>()).put(row.getCode(), row.getId());
+            if (ESTADO_GENERAL.equals(row.getGroupCode())) {
+                estadoOf(row.getCode()).ifPresent(st -> estadoIds.put(st, row.getId()));
+            }
+        }
+
+        var codesByGroupId = new HashMap<Long, Map<String, Long>>();
+        byGroup.forEach((g, codes) -> codesByGroupId.put(g, Map.copyOf(codes)));
+
+        var estadoById = new HashMap<Long, ResponseState>();
+        estadoIds.forEach((st, id) -> estadoById.put(id, st));
+
+        this.snapshot = new Snapshot(
+                Map.copyOf(codesByGroupId),
+                Collections.unmodifiableMap(estadoIds),
+                Map.copyOf(estadoById),
+                rows.size(),
+                Instant.now());
+        refreshes.incrementAndGet();
+        log.debug("OptionCatalogService: catálogo recargado ({} grupos, {} opciones)", codesByGroupId.size(), rows.size());
+        return stats();
+    }
+
+    public CatalogStatsResponse stats() {
+        var snap = snapshot;
+        return new CatalogStatsResponse(
+                hits.get(),
+                misses.get(),
+                refreshes.get(),
+                snap != null ? snap.codesByGroupId.size() : 0,
+                snap != null ? snap.options : 0,
+                snap != null ? snap.loadedAt : null);
+    }
+
+    private Snapshot current() {
+        var snap = snapshot;
+        return snap != null ? snap : refreshSnapshot();
+    }
+
+    private synchronized Snapshot refreshSnapshot() {
+        if (snapshot == null) refresh();
+        return snapshot;
+    }
+
+    private static Optional<ResponseState> estadoOf(String code) {
+        try {
+            return Optional.of(ResponseState.from(code));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private record Snapshot(Map<Long, Map<String, Long>> codesByGroupId,
+                            Map<ResponseState, Long> estadoIds,
+                            Map<Long, ResponseState> estadoById,
+                            int options,
+                            Instant loadedAt) {
+    }
+}
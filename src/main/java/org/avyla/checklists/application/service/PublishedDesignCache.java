@@ -0,0 +1,80 @@
+package org.avyla.checklists.application.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.avyla.checklists.config.ChecklistProperties;
+import org.avyla.checklists.domain.event.ChecklistVersionChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Caché del diseño publicado por templateCode (cada entrada fija su versionId).
+ * - Guarda el JSON ya serializado + ETag, para responder 200/304 sin tocar la BD.
+ * - Se invalida al confirmar cualquier cambio de ChecklistVersion y, como respaldo, por TTL.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PublishedDesignCache {
+
+    private final ChecklistProperties props;
+
+    private final ConcurrentHashMap<String, Entry> byTemplate = new ConcurrentHashMap<>();
+
+    // Se incrementa en cada invalidación: una carga que la atraviesa no se guarda (podría ser la versión anterior)
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * La carga (BD + serialización) corre fuera del mapa: no retiene el lock del bin ni bloquea invalidateAll().
+     * Dos lecturas simultáneas de un template vencido pueden cargarlo ambas; se guarda una de ellas.
+     */
+    public Entry get(String templateCode, Function<String, Entry> loader) {
+        var current = byTemplate.get(templateCode);
+        if (current != null && Instant.now().isBefore(current.expiresAt())) return current;
+
+        long gen = generation.get();
+        var loaded = loader.apply(templateCode);
+        if (loaded == null || generation.get() != gen) return loaded;
+
+        boolean stored = (current == null)
+                ? byTemplate.putIfAbsent(templateCode, loaded) == null
+                : byTemplate.replace(templateCode, current, loaded);
+        // Invalidación entre la comprobación y el put: se retira lo recién guardado
+        if (stored && generation.get() != gen) {
+            byTemplate.remove(templateCode, loaded);
+        }
+        return loaded;
+    }
+
+    public Instant expiresAtFrom(Instant now) {
+        return now.plus(props.getPublished().getCacheTtl());
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        byTemplate.clear();
+    }
+
+    // Después del commit: una lectura concurrente no debe volver a cachear la versión anterior
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVersionChanged(ChecklistVersionChangedEvent event) {
+        log.debug("PublishedDesignCache: versión {} cambió ({}), invalidando", event.versionId(), event.status());
+        invalidateAll();
+    }
+
+    /**
+     * Diseño publicado precomputado.
+     */
+    public record Entry(String templateCode,
+                        Long versionId,
+                        String etag,
+                        long lastModified,
+                        byte[] json,
+                        Instant expiresAt) {
+    }
+}
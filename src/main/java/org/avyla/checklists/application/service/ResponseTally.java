@@ -0,0 +1,49 @@
+package org.avyla.checklists.application.service;
+
+import org.avyla.checklists.domain.enums.ResponseState;
+import org.avyla.checklists.domain.enums.SeverityOptions;
+
+/**
+ * Acumulador de una sola pasada sobre las respuestas de una instancia:
+ * conteos por estado, críticos en NOOP, resultado global (detalle) y condición del vehículo (submit).
+ */
+final class ResponseTally {
+
+    private long total;
+    private long ok;
+    private long obs;
+    private long noop;
+    private long criticalNoop;
+
+    void add(ResponseState state, SeverityOptions severity) {
+        total++;
+        switch (state) {
+            case OK -> ok++;
+            case OBS -> obs++;
+            case NOOP -> {
+                noop++;
+                if (severity == SeverityOptions.CRITICAL) criticalNoop++;
+            }
+        }
+    }
+
+    long total() { return total; }
+    long ok() { return ok; }
+    long obs() { return obs; }
+    long noop() { return noop; }
+    long criticalNoop() { return criticalNoop; }
+
+    // Resumen del detalle: si hay NOOP -> NO_APTO; si hay OBS -> APTO_RESTRICCIONES; si no -> APTO
+    String overall() {
+        if (noop > 0) return "NO_APTO";
+        if (obs > 0) return "APTO_RESTRICCIONES";
+        return "APTO";
+    }
+
+    // Condición del vehículo al enviar: solo un crítico en NOOP lo deja NO_APTO
+    String conditionGeneral() {
+        if (criticalNoop > 0) return "NO_APTO";
+        if (obs > 0 || noop > 0) return "APTO_RESTRICCIONES";
+        return "APTO";
+    }
+}
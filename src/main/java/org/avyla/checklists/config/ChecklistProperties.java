@@ -3,11 +3,16 @@ package org.avyla.checklists.config;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 @Data
 @ConfigurationProperties(prefix = "checklists")
 public class ChecklistProperties {
     private Generation generation = new Generation();
     private Instance instance = new Instance();
+    private Published published = new Published();
+    private Variants variants = new Variants();
+    private Expiry expiry = new Expiry();
 
     @Data
     public static class Generation {
@@ -18,4 +23,31 @@ public class ChecklistProperties {
         private int ttlMinutes = 60;
         private int cooldownMinutes = 15;
     }
+    @Data
+    public static class Published {
+        // Vida máxima del diseño publicado en caché (cubre versiones publicadas por SQL fuera de la app)
+        private Duration cacheTtl = Duration.ofMinutes(5);
+    }
+    @Data
+    public static class Variants {
+        // Pool acotado para miniaturas/vistas previas: si la cola se llena, el backfill lo retoma después
+        private boolean enabled = true;
+        private int threads = 2;
+        private int queueCapacity = 200;
+        private float jpegQuality = 0.8f;
+        private Duration backfillInterval = Duration.ofMinutes(5);
+        private int backfillBatchSize = 50;
+    }
+    @Data
+    public static class Expiry {
+        // Rueda de temporizadores en memoria: resolución del tick y tamaño de cada UPDATE por lote
+        private Duration tick = Duration.ofSeconds(1);
+        private int batchSize = 100;
+        // El líder recarga de BD lo que vence en los próximos 2 x refillInterval (instancias de otras réplicas)
+        private Duration refillInterval = Duration.ofMinutes(1);
+        // Barrido de respaldo (instancias creadas en otro nodo, reinicios, relojes desfasados)
+        private String sweepCron = "0 */15 * * * *";
+        // Instancias por bloque del barrido (cada bloque es una transacción corta con SKIP LOCKED)
+        private int sweepChunkSize = 500;
+    }
 }
@@ -1,8 +1,28 @@
 package org.avyla.checklists.config;
 
+import org.avyla.shared.scheduling.SchedulingProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
+/**
+ * Jobs programados.
+ * - Pool propio para @Scheduled (por defecto Spring usa un solo hilo: un job lento retrasaría el tick de expiración).
+ * - Los jobs de cluster consultan LeaderElection: con varias réplicas solo el líder los ejecuta;
+ *   los jobs de caché local (catálogo de opciones) corren en todos los nodos.
+ */
 @Configuration
 @EnableScheduling // habilita detección de @Scheduled
-public class SchedulingConfig {}
+public class SchedulingConfig {
+
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(SchedulingProperties props) {
+        var scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(Math.max(1, props.getPoolSize()));
+        scheduler.setThreadNamePrefix("scheduled-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(10);
+        return scheduler;
+    }
+}
@@ -0,0 +1,28 @@
+package org.avyla.checklists.config.jobs;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.avyla.checklists.application.service.AttachmentVariantService;
+import org.avyla.shared.scheduling.LeaderElection;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AttachmentVariantBackfillJob {
+
+    private final AttachmentVariantService variantService;
+    private final LeaderElection leader;
+
+    // Retoma evidencias sin variantes: cola llena al subir, reinicio del nodo o contenido migrado desde bytea
+    @Scheduled(fixedDelayString = "${checklists.variants.backfill-interval:PT5M}",
+               initialDelayString = "${checklists.variants.backfill-interval:PT5M}")
+    public void backfillVariants() {
+        if (!leader.isLeader()) return;
+        int queued = variantService.backfill();
+        if (queued > 0) {
+            log.info("AttachmentVariantBackfillJob: {} evidencias encoladas", queued);
+        }
+    }
+}
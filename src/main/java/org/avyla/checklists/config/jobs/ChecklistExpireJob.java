@@ -1,11 +1,12 @@
 package org.avyla.checklists.config.jobs;
 
 import java.time.Instant;
-import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.avyla.checklists.domain.repo.ChecklistInstanceRepository;
-import org.avyla.checklists.domain.enums.InstanceStatus;
+import org.avyla.checklists.application.service.ChecklistExpiryScheduler;
+import org.avyla.checklists.application.service.InstanceExpiryWriter;
+import org.avyla.checklists.config.ChecklistProperties;
+import org.avyla.shared.scheduling.LeaderElection;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -15,19 +16,21 @@ import org.springframework.stereotype.Component;
 public class ChecklistExpireJob {
 
 
-    private final ChecklistInstanceRepository instanceRepo;
+    private final InstanceExpiryWriter expiryWriter;
+    private final ChecklistExpiryScheduler expiryScheduler;
+    private final ChecklistProperties props;
+    private final LeaderElection leader;
 
-    // Corre cada minuto en zona America/Bogota
-    @Scheduled(cron = "0 * * * * *", zone = "America/Bogota")
+    // Barrido de respaldo (la expiración puntual la hace ChecklistExpiryScheduler); zona America/Bogota
+    @Scheduled(cron = "${checklists.expiry.sweep-cron:0 */15 * * * *}", zone = "America/Bogota")
     public void expireStaleInstances() {
+        if (!leader.isLeader()) return;
         Instant now = Instant.now();
-        int updated = instanceRepo.expireDueInstances(
-                now,
-                List.of(InstanceStatus.PENDING, InstanceStatus.IN_PROGRESS),
-                InstanceStatus.EXPIRED
-        );
-        if (updated > 0) {
-            log.info("ChecklistExpireJob: {} instancias expiradas a {}", updated, now);
+        var result = expiryWriter.sweep(now, props.getExpiry().getSweepChunkSize());
+        if (result.expired() > 0) {
+            expiryScheduler.recordSweep(result.expired());
+            log.info("ChecklistExpireJob: {} instancias expiradas a {} en {} bloques ({} ms, barrido de respaldo)",
+                    result.expired(), now, result.chunks(), result.durationMs());
         }
     }
 }
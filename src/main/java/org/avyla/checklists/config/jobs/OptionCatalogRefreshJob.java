@@ -0,0 +1,31 @@
+package org.avyla.checklists.config.jobs;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.avyla.checklists.application.service.OptionCatalogService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OptionCatalogRefreshJob {
+
+    private final OptionCatalogService catalogService;
+
+    // Precarga al arrancar para que la primera petición no pague la consulta
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        catalogService.refresh();
+    }
+
+    // Refresco periódico (los catálogos cambian muy poco; también existe refresh manual por admin)
+    @Scheduled(fixedDelayString = "${checklists.catalog.refresh-interval:PT10M}",
+               initialDelayString = "${checklists.catalog.refresh-interval:PT10M}")
+    public void refreshCatalog() {
+        var stats = catalogService.refresh();
+        log.debug("OptionCatalogRefreshJob: {} opciones en {} grupos", stats.options(), stats.groups());
+    }
+}
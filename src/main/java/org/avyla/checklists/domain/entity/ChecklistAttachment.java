@@ -5,7 +5,7 @@ import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
-import org.hibernate.annotations.GenericGenerator;
+import org.avyla.shared.id.UuidV7;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
@@ -30,9 +30,12 @@ import java.util.UUID;
 @NoArgsConstructor @AllArgsConstructor @Builder
 public class ChecklistAttachment {
 
+    // variantStatus: null = pendiente de generar miniatura/vista previa
+    public static final String VARIANTS_READY = "READY";
+    public static final String VARIANTS_NONE = "NONE";
+
     @Id
-    @GeneratedValue(generator = "uuid2")
-    @GenericGenerator(name = "uuid2", strategy = "org.hibernate.id.UUIDGenerator")
+    @UuidV7
     @Column(length = 36, updatable = false, nullable = false)
     private UUID id;
 
@@ -48,11 +51,28 @@ public class ChecklistAttachment {
     @Column(nullable = false)
     private Long size;    // bytes
 
+    // Contenido heredado en BD; null una vez migrado al BlobStore (ver storageKey)
     @JdbcTypeCode(SqlTypes.BINARY)
     @Basic(fetch = FetchType.LAZY)
-    @Column(name = "data", nullable = false)
+    @Column(name = "data")
     private byte[] data;
 
+    @Column(name = "storage_key", length = 128)
+    private String storageKey;
+
+    @Column(name = "sha256", length = 64)
+    private String sha256;
+
+    // Variantes JPEG reducidas (AttachmentVariantService); keys del BlobStore
+    @Column(name = "thumb_key", length = 128)
+    private String thumbKey;
+
+    @Column(name = "preview_key", length = 128)
+    private String previewKey;
+
+    @Column(name = "variant_status", length = 16)
+    private String variantStatus;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "response_id")
     @OnDelete(action = OnDeleteAction.CASCADE)
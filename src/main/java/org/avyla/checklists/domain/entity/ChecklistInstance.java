@@ -10,7 +10,8 @@ import java.time.Instant;
 @Entity @Table(name = "checklist_instance")
 @Getter @Setter
 public class ChecklistInstance {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "checklistInstanceSeq")
+    @SequenceGenerator(name = "checklistInstanceSeq", sequenceName = "checklist_instance_instance_id_seq", allocationSize = 50)
     @Column(name = "instance_id")
     private Long id;
 
@@ -65,5 +66,11 @@ public class ChecklistInstance {
 
     @Column(name = "created_at", nullable = false)
     private Instant createdAt;
+
+    // Control optimista (V17): saveResponses/submit lo incrementan al escribir, la expiración por SQL también.
+    // null hasta persistir: Spring Data usa la versión para decidir persist vs merge, Hibernate asigna la inicial
+    @Version
+    @Column(name = "lock_version", nullable = false)
+    private Long lockVersion;
 }
 
@@ -3,13 +3,18 @@ package org.avyla.checklists.domain.entity;
 import jakarta.persistence.*;
 import lombok.Getter; import lombok.Setter;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 
 @Entity @Table(name = "checklist_response",
         uniqueConstraints = @UniqueConstraint(columnNames = {"instance_id","item_id"}))
 @Getter @Setter
 public class ChecklistResponse {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Secuencia pooled en bloques de 50 (V16): con IDENTITY Hibernate no puede agrupar los INSERT en lotes JDBC
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "checklistResponseSeq")
+    @SequenceGenerator(name = "checklistResponseSeq", sequenceName = "checklist_response_response_id_seq", allocationSize = 50)
     @Column(name = "response_id")
     private Long id;
 
@@ -57,5 +62,18 @@ public class ChecklistResponse {
 
     @Column(name = "created_at", nullable = false)
     private Instant createdAt;
+
+    /**
+     * true si la respuesta ya tiene ese estado, comentario y conjunto de detalles (guardado sin cambios).
+     * Solo compara ids: no inicializa los proxies de OptionItem.
+     */
+    public boolean hasSameAnswer(Long selectedOptionId, String comment, Collection<Long> detailOptionIds) {
+        if (selectedOption == null || !Objects.equals(selectedOption.getId(), selectedOptionId)) return false;
+        if (!Objects.equals(this.comment, comment)) return false;
+
+        var current = new HashSet<Long>();
+        for (var o : options) current.add(o.getOption().getId());
+        return current.equals(new HashSet<>(detailOptionIds));
+    }
 }
 
@@ -7,7 +7,8 @@ import java.time.Instant;
 @Entity @Table(name = "checklist_signature")
 @Getter @Setter
 public class ChecklistSignature {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "checklistSignatureSeq")
+    @SequenceGenerator(name = "checklistSignatureSeq", sequenceName = "checklist_signature_signature_id_seq", allocationSize = 50)
     @Column(name = "signature_id")
     private Long id;
 
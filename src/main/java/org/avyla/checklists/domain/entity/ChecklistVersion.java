@@ -2,13 +2,16 @@ package org.avyla.checklists.domain.entity;
 
 import jakarta.persistence.*;
 import lombok.Getter; import lombok.Setter;
+import org.avyla.checklists.domain.event.ChecklistVersionListener;
 import java.time.Instant;
 
 @Entity @Table(name = "checklist_version",
         uniqueConstraints = @UniqueConstraint(columnNames = {"template_id","version_label"}))
+@EntityListeners(ChecklistVersionListener.class)
 @Getter @Setter
 public class ChecklistVersion {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "checklistVersionSeq")
+    @SequenceGenerator(name = "checklistVersionSeq", sequenceName = "checklist_version_version_id_seq", allocationSize = 50)
     @Column(name = "version_id")
     private Long id;
 
@@ -0,0 +1,29 @@
+package org.avyla.checklists.domain.enums;
+
+import org.avyla.shared.exception.BadRequestException;
+
+/**
+ * Representaciones servidas de una evidencia: original o JPEG reducidos (lado mayor en px).
+ */
+public enum AttachmentVariant {
+    ORIGINAL(0), PREVIEW(1280), THUMB(256);
+
+    private final int maxEdge;
+
+    AttachmentVariant(int maxEdge) {
+        this.maxEdge = maxEdge;
+    }
+
+    public int maxEdge() {
+        return maxEdge;
+    }
+
+    public static AttachmentVariant from(String value) {
+        if (value == null || value.isBlank()) return ORIGINAL;
+        try {
+            return AttachmentVariant.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("variant inválido: " + value + " (thumb | preview | original)");
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package org.avyla.checklists.domain.event;
+
+/**
+ * Se publica cuando una ChecklistVersion se crea, cambia de estado (p. ej. Published) o se elimina.
+ */
+public record ChecklistVersionChangedEvent(Long versionId, String status) {}
@@ -0,0 +1,25 @@
+package org.avyla.checklists.domain.event;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.avyla.checklists.domain.entity.ChecklistVersion;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Entity listener de ChecklistVersion (instanciado por Spring vía SpringBeanContainer).
+ * Traduce los cambios de versión en un evento de aplicación para invalidar cachés.
+ */
+@RequiredArgsConstructor
+public class ChecklistVersionListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(ChecklistVersion version) {
+        publisher.publishEvent(new ChecklistVersionChangedEvent(version.getId(), version.getStatus()));
+    }
+}
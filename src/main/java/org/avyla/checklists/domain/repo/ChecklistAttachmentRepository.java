@@ -10,10 +10,132 @@ public interface ChecklistAttachmentRepository extends JpaRepository<ChecklistAt
 
     boolean existsByResponse_Id(Long responseId);
 
-    List<ChecklistAttachment> findAllByResponse_Id(Long responseId);
+    // Listado por respuesta: solo metadatos. Sin enhancement de bytecode el LAZY de data no aplica y la entidad traería el bytea
+    @Query("""
+           select a.id as id, r.id as responseId, a.filename as filename, a.type as type, a.size as size
+           from ChecklistAttachment a
+           join a.response r
+           where r.id = :responseId
+           order by a.createdAt
+           """)
+    List<AttachmentListingView> findListingByResponseId(@Param("responseId") Long responseId);
+
+    // Evidencias de todas las respuestas de una instancia (detalle / payload pendiente): una consulta, sin data
+    @Query("""
+           select a.id as id, r.id as responseId, a.filename as filename, a.type as type, a.size as size
+           from ChecklistAttachment a
+           join a.response r
+           where r.instance.id = :instanceId
+           order by a.createdAt
+           """)
+    List<AttachmentListingView> findListingByInstanceId(@Param("instanceId") Long instanceId);
+
+    // Respuestas de la instancia que ya tienen evidencia (reglas de submit en una consulta)
+    @Query("""
+           select distinct r.id
+           from ChecklistAttachment a
+           join a.response r
+           where r.instance.id = :instanceId
+           """)
+    Set<Long> findResponseIdsWithAttachments(@Param("instanceId") Long instanceId);
+
+    // Metadatos para descargar sin traer la columna data
+    @Query("""
+           select a.id as id, a.filename as filename, a.type as type, a.size as size,
+                  a.storageKey as storageKey, a.sha256 as sha256,
+                  a.thumbKey as thumbKey, a.previewKey as previewKey
+           from ChecklistAttachment a
+           where a.id = :id
+           """)
+    Optional<AttachmentMetaView> findMetaById(@Param("id") UUID id);
+
+    // ===== Variantes reducidas (AttachmentVariantService) =====
+
+    @Query("""
+           select a.id as id, a.type as type, a.storageKey as storageKey, a.variantStatus as variantStatus
+           from ChecklistAttachment a
+           where a.id = :id
+           """)
+    Optional<VariantSourceView> findVariantSourceById(@Param("id") UUID id);
+
+    @Query(value = """
+           select a.id from checklist_attachment a
+           where a.variant_status is null and a.storage_key is not null
+           order by a.created_at
+           limit :limit
+           """, nativeQuery = true)
+    List<UUID> findVariantPendingIds(@Param("limit") int limit);
+
+    // Solo si sigue pendiente: dos workers sobre la misma fila no pisan el resultado
+    @Modifying
+    @Query("""
+           update ChecklistAttachment a
+           set a.thumbKey = :thumbKey, a.previewKey = :previewKey, a.variantStatus = :status
+           where a.id = :id and a.variantStatus is null
+           """)
+    int markVariants(@Param("id") UUID id,
+                     @Param("thumbKey") String thumbKey,
+                     @Param("previewKey") String previewKey,
+                     @Param("status") String status);
 
     @Modifying
     @Query("delete from ChecklistAttachment a " +
             "where a.instance.id = :instanceId and a.response is null")
     void deleteInstanceAttachments(@Param("instanceId") Long instanceId);
+
+    // ===== Migración bytea -> BlobStore (BlobMigrationJob) =====
+
+    // Bloquea un lote pendiente; SKIP LOCKED evita que dos réplicas tomen las mismas filas
+    @Query(value = """
+           select a.id from checklist_attachment a
+           where a.storage_key is null and a.data is not null
+           order by a.id
+           limit :limit
+           for update skip locked
+           """, nativeQuery = true)
+    List<UUID> lockPendingBlobIds(@Param("limit") int limit);
+
+    @Query(value = "select a.data from checklist_attachment a where a.id = :id", nativeQuery = true)
+    byte[] findLegacyData(@Param("id") UUID id);
+
+    // data vacío heredado (DEFAULT '' anterior a V9): sin contenido, no se crea un blob de 0 bytes
+    @Modifying
+    @Query("update ChecklistAttachment a set a.data = null where a.id = :id")
+    int clearLegacyData(@Param("id") UUID id);
+
+    @Modifying
+    @Query("""
+           update ChecklistAttachment a
+           set a.storageKey = :storageKey, a.sha256 = :sha256, a.data = null
+           where a.id = :id
+           """)
+    int markBlobMigrated(@Param("id") UUID id,
+                         @Param("storageKey") String storageKey,
+                         @Param("sha256") String sha256);
+
+    interface AttachmentMetaView {
+        UUID getId();
+        String getFilename();
+        String getType();
+        Long getSize();
+        String getStorageKey();
+        String getSha256();
+        String getThumbKey();
+        String getPreviewKey();
+    }
+
+    interface AttachmentListingView {
+        UUID getId();
+        Long getResponseId();
+        String getFilename();
+        String getType();
+        Long getSize();
+    }
+
+    interface VariantSourceView {
+        UUID getId();
+        String getType();
+        String getStorageKey();
+        String getVariantStatus();
+    }
 }
@@ -2,12 +2,11 @@ package org.avyla.checklists.domain.repo;
 
 import org.avyla.checklists.domain.enums.InstanceStatus;
 import org.avyla.checklists.domain.entity.ChecklistInstance;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import jakarta.persistence.LockModeType;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
@@ -16,10 +15,6 @@ import java.util.Optional;
 @Repository
 public interface ChecklistInstanceRepository extends JpaRepository<ChecklistInstance, Long> {
 
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("select i from ChecklistInstance i where i.id = :id")
-    Optional<ChecklistInstance> findByIdForUpdate(@Param("id") Long id);
-
     @Query("""
            select i from ChecklistInstance i
            where i.driverId = :driverId
@@ -40,25 +35,49 @@ public interface ChecklistInstanceRepository extends JpaRepository<ChecklistInst
            """)
     Optional<ChecklistInstance> findLastExpiredByDriver(@Param("driverId") Long driverId);
 
-    @Modifying(clearAutomatically = true, flushAutomatically = true)
-    @Transactional
+    // Siembra de la rueda de expiración al arrancar
+    @Query("""
+        SELECT i.id AS id, i.dueAt AS dueAt FROM ChecklistInstance i
+         WHERE i.status IN :open AND i.dueAt IS NOT NULL
+    """)
+    List<DueTimerView> findOpenDueTimers(@Param("open") List<InstanceStatus> open);
+
+    // Recarga del líder: instancias abiertas que vencen pronto (creadas en cualquier réplica)
     @Query("""
-        UPDATE ChecklistInstance i
-           SET i.status = :expired,
-               i.completedAt = :now
-         WHERE i.status IN :open
-           AND i.dueAt <= :now
-           AND (i.completedAt IS NULL OR i.status <> :expired)
+        SELECT i.id AS id, i.dueAt AS dueAt FROM ChecklistInstance i
+         WHERE i.status IN :open AND i.dueAt <= :until
     """)
-    int expireDueInstances(@Param("now") Instant now,
-                           @Param("open") List<InstanceStatus> open,
-                           @Param("expired") InstanceStatus expired);
+    List<DueTimerView> findOpenDueTimersBefore(@Param("open") List<InstanceStatus> open,
+                                               @Param("until") Instant until);
 
-    // (opcional) si prefieres paginar y procesar en memoria:
+    // Listado por cursor: keyset descendente sobre (started_at, instance_id), solo columnas del listado
     @Query("""
-        SELECT i FROM ChecklistInstance i
-         WHERE i.status IN :open AND i.dueAt <= :now
+        SELECT i.id AS id, i.version.id AS versionId, i.vehicleId AS vehicleId, i.driverId AS driverId,
+               i.status AS status, i.startedAt AS startedAt, i.dueAt AS dueAt, i.completedAt AS completedAt,
+               i.conditionGeneral AS conditionGeneral, i.overallPass AS overallPass
+          FROM ChecklistInstance i
+         WHERE (i.startedAt, i.id) < (:beforeStarted, :beforeId)
+         ORDER BY i.startedAt DESC, i.id DESC
     """)
-    List<ChecklistInstance> findAllDue(@Param("now") Instant now,
-                                       @Param("open") List<InstanceStatus> open);
+    List<InstanceListingView> findPageBefore(@Param("beforeStarted") Instant beforeStarted,
+                                             @Param("beforeId") long beforeId,
+                                             Pageable limit);
+
+    interface DueTimerView {
+        Long getId();
+        Instant getDueAt();
+    }
+
+    interface InstanceListingView {
+        Long getId();
+        Long getVersionId();
+        Long getVehicleId();
+        Long getDriverId();
+        InstanceStatus getStatus();
+        Instant getStartedAt();
+        Instant getDueAt();
+        Instant getCompletedAt();
+        String getConditionGeneral();
+        Boolean getOverallPass();
+    }
 }
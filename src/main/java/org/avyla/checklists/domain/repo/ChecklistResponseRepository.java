@@ -20,6 +20,11 @@ public interface ChecklistResponseRepository extends JpaRepository<ChecklistResp
 
     List<ChecklistResponse> findByInstance_Id(Long instanceId);
 
+    // Todas las respuestas de la instancia con sus detalles (upsert por lotes en saveResponses)
+    @EntityGraph(attributePaths = {"options"})
+    @Query("select r from ChecklistResponse r where r.instance.id = :instanceId")
+    List<ChecklistResponse> findWithOptionsByInstanceId(@Param("instanceId") Long instanceId);
+
     // Útil para evitar N+1 al leer severidad del ítem
     @Query("""
            select r from ChecklistResponse r
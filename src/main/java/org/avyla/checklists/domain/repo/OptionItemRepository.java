@@ -26,6 +26,17 @@ public interface OptionItemRepository extends JpaRepository<OptionItem, Long> {
     Optional<Long> findIdByGroupIdAndCode(@Param("groupId") Long groupId,
                                           @Param("code") String code);
 
+    // Catálogo activo completo (group_id, group_code, code, option_id) para OptionCatalogService
+    @Query("""
+           select oi.group.id   as groupId,
+                  oi.group.code as groupCode,
+                  oi.code       as code,
+                  oi.id         as id
+           from OptionItem oi
+           where oi.active = true
+           """)
+    List<OptionCodeView> findAllActiveCodes();
+
     // Lista completa de un grupo por su code (ordenada)
     @Query("""
            select oi from OptionItem oi
@@ -47,6 +58,13 @@ public interface OptionItemRepository extends JpaRepository<OptionItem, Long> {
            """)
     List<OptionView> findActiveViewsByGroupCodes(@Param("groupCodes") List<String> groupCodes);
 
+    interface OptionCodeView {
+        Long getGroupId();
+        String getGroupCode();
+        String getCode();
+        Long getId();
+    }
+
     interface OptionView {
         String getGroupCode();
         String getCode();
@@ -4,6 +4,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.avyla.security.api.dto.request.AuthCreateUserRequest;
 import org.avyla.security.api.dto.request.AuthLoginRequest;
+import org.avyla.security.api.dto.request.RefreshTokenRequest;
 import org.avyla.security.api.dto.response.AuthResponse;
 import org.avyla.security.application.service.UserDetailServiceImpl;
 import org.springframework.http.HttpStatus;
@@ -42,4 +43,27 @@ public class AuthenticationController
         return new ResponseEntity<>(this.userDetailService.loginUser(authRequest), HttpStatus.OK);
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh
+            (
+                    @RequestBody
+                    @Valid
+                    RefreshTokenRequest refreshRequest
+            )
+    {
+        return new ResponseEntity<>(this.userDetailService.refresh(refreshRequest), HttpStatus.OK);
+    }
+
+    @PostMapping("/log-out")
+    public ResponseEntity<Void> logout
+            (
+                    @RequestBody
+                    @Valid
+                    RefreshTokenRequest refreshRequest
+            )
+    {
+        this.userDetailService.logout(refreshRequest);
+        return ResponseEntity.noContent().build();
+    }
+
 }
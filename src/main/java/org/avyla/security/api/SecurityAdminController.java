@@ -0,0 +1,36 @@
+package org.avyla.security.api;
+
+import lombok.RequiredArgsConstructor;
+import org.avyla.security.api.dto.response.PasswordHashingStatsResponse;
+import org.avyla.security.api.dto.response.RoleCacheStatsResponse;
+import org.avyla.security.application.service.PasswordHashingService;
+import org.avyla.security.application.service.RoleAuthorityCache;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Operación del módulo de seguridad (solo ADMIN, ver SecurityConfig: /api/admin/**).
+ */
+@RestController
+@RequestMapping("/api/admin/security")
+@RequiredArgsConstructor
+public class SecurityAdminController {
+
+    private final RoleAuthorityCache roleAuthorityCache;
+    private final PasswordHashingService passwordHashing;
+
+    @GetMapping("/roles/stats")
+    public RoleCacheStatsResponse roleCacheStats() {
+        return roleAuthorityCache.stats();
+    }
+
+    // Tras cambiar roles o permisos directamente por SQL (fuera de la app)
+    @PostMapping("/roles/refresh")
+    public RoleCacheStatsResponse refreshRoleCache() {
+        return roleAuthorityCache.refresh();
+    }
+
+    @GetMapping("/password-hashing/stats")
+    public PasswordHashingStatsResponse passwordHashingStats() {
+        return passwordHashing.stats();
+    }
+}
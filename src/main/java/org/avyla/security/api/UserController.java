@@ -8,6 +8,7 @@ import org.avyla.security.api.dto.request.UpdateUserRequest;
 import org.avyla.security.api.dto.response.UserListResponse;
 import org.avyla.security.api.dto.response.UserResponse;
 import org.avyla.security.application.service.UserService;
+import org.avyla.shared.pagination.CursorSliceResponse;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -61,6 +62,22 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * Get users page by page using an opaque cursor (no total count)
+     * Only accessible by ADMIN and SUPERVISOR roles
+     *
+     * @param cursor Cursor from the previous page (omit for the first page)
+     * @param size Page size (1..100, default 20)
+     * @return Page of users and the cursor of the next one
+     */
+    @GetMapping("/scroll")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
+    public ResponseEntity<CursorSliceResponse<UserListResponse>> scrollUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(userService.scrollUsers(cursor, size));
+    }
+
     /**
      * Get detailed information of a specific user by ID
      * Only accessible by ADMIN and SUPERVISOR roles
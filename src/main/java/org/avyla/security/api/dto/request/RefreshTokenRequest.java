@@ -0,0 +1,10 @@
+package org.avyla.security.api.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenRequest
+        (
+                @NotBlank String refreshToken
+        )
+{
+}
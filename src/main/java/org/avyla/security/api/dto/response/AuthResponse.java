@@ -7,13 +7,15 @@ import com.fasterxml.jackson.annotation.JsonPropertyOrder;
                 "username",
                 "message",
                 "status",
-                "jwt"
+                "jwt",
+                "refreshToken"
         })
 public record AuthResponse
         (
                 String username,
                 String message,
                 String jwt,
+                String refreshToken,
                 boolean status
         )
 {
@@ -0,0 +1,14 @@
+package org.avyla.security.api.dto.response;
+
+/**
+ * Métricas del pool de BCrypt del login (PasswordHashingService).
+ */
+public record PasswordHashingStatsResponse(int strength,
+                                           int threads,
+                                           int active,
+                                           int queued,
+                                           int queueCapacity,
+                                           long completed,
+                                           long rejected,
+                                           long timeouts,
+                                           long rehashed) {}
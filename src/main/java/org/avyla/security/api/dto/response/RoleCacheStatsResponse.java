@@ -0,0 +1,12 @@
+package org.avyla.security.api.dto.response;
+
+import java.time.Instant;
+
+/**
+ * Métricas de la caché rol → authorities (RoleAuthorityCache).
+ */
+public record RoleCacheStatsResponse(long hits,
+                                     long refreshes,
+                                     int roles,
+                                     int permissions,
+                                     Instant loadedAt) {}
@@ -0,0 +1,30 @@
+package org.avyla.security.application.service;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Principal autenticado con el id del usuario (claim "uid" del JWT o fila de users al hacer login).
+ * Permite resolver el usuario actual sin consultar la BD.
+ */
+@Getter
+public class AuthenticatedUser extends User {
+
+    private final Long userId;
+
+    public AuthenticatedUser(Long userId, String username, String password,
+                             Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, authorities);
+        this.userId = userId;
+    }
+
+    public AuthenticatedUser(Long userId, String username, String password,
+                             boolean enabled, boolean accountNonExpired, boolean credentialsNonExpired,
+                             boolean accountNonLocked, Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, enabled, accountNonExpired, credentialsNonExpired, accountNonLocked, authorities);
+        this.userId = userId;
+    }
+}
@@ -24,6 +24,13 @@ public class CurrentUserService
 
     public Long getCurrentUserId()
     {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user
+                && user.getUserId() != null) {
+            return user.getUserId();
+        }
+
+        // Tokens emitidos antes del claim uid (vigentes a lo sumo hasta su exp)
         String username = getCurrentUserName();
         return userRepository.findUserIdByUsername(username)
                 .orElseThrow(() -> new IllegalStateException("User not found: " + username));
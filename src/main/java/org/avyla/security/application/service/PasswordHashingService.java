@@ -0,0 +1,139 @@
+package org.avyla.security.application.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.avyla.security.api.dto.response.PasswordHashingStatsResponse;
+import org.avyla.security.config.AuthProperties;
+import org.avyla.security.domain.repo.UserRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * BCrypt del login en un pool acotado, separado de los hilos HTTP.
+ * - Como mucho {threads} hashes en paralelo: un pico de logins no acapara la CPU del resto de endpoints.
+ * - Cola llena o espera vencida → 503 inmediato (el cliente reintenta) en lugar de encolar sin límite.
+ * - Tras un login correcto, si el costo del hash guardado difiere del configurado, se re-hashea en segundo plano.
+ */
+@Slf4j
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final UserRepository userRepository;
+    private final AuthProperties.Password props;
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong rehashed = new AtomicLong();
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  UserRepository userRepository,
+                                  AuthProperties props) {
+        this.passwordEncoder = passwordEncoder;
+        this.userRepository = userRepository;
+        this.props = props.getPassword();
+
+        int threads = Math.max(1, this.props.getHashThreads());
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, this.props.getQueueCapacity())),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Verifica la contraseña en el pool de hashing; 503 si el pool está saturado.
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        Future<Boolean> future;
+        try {
+            future = executor.submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw busy();
+        }
+
+        try {
+            return future.get(props.getWaitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timeouts.incrementAndGet();
+            throw busy();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("No se pudo verificar la contraseña", e.getCause());
+        }
+    }
+
+    /**
+     * Re-hashea con el costo configurado si el hash guardado usa otro (subida o bajada de costo).
+     * Best-effort: con el pool lleno se omite y se reintenta en el próximo login.
+     */
+    public void rehashIfNeeded(Long userId, String rawPassword, String encodedPassword) {
+        if (userId == null || !needsRehash(encodedPassword)) return;
+        try {
+            executor.execute(() -> {
+                try {
+                    // Condicionado al hash anterior: no pisa un cambio de contraseña concurrente
+                    if (userRepository.updatePasswordIfUnchanged(userId, encodedPassword, passwordEncoder.encode(rawPassword)) > 0) {
+                        rehashed.incrementAndGet();
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("No se pudo re-hashear la contraseña del usuario {}: {}", userId, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+        }
+    }
+
+    boolean needsRehash(String encodedPassword) {
+        int cost = bcryptCost(encodedPassword);
+        return cost > 0 && cost != props.getBcryptStrength();
+    }
+
+    // $2a$10$... → 10; -1 si no es un hash BCrypt
+    static int bcryptCost(String encoded) {
+        if (encoded == null || encoded.length() < 7 || encoded.charAt(0) != '$' || encoded.charAt(3) != '$'
+                || encoded.charAt(6) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(encoded.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public PasswordHashingStatsResponse stats() {
+        return new PasswordHashingStatsResponse(
+                props.getBcryptStrength(),
+                executor.getMaximumPoolSize(),
+                executor.getActiveCount(),
+                executor.getQueue().size(),
+                executor.getQueue().size() + executor.getQueue().remainingCapacity(),
+                executor.getCompletedTaskCount(),
+                rejected.get(),
+                timeouts.get(),
+                rehashed.get());
+    }
+
+    private static ResponseStatusException busy() {
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Servicio de autenticación ocupado, intente de nuevo");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
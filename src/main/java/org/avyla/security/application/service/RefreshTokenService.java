@@ -0,0 +1,140 @@
+package org.avyla.security.application.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.avyla.security.config.AuthProperties;
+import org.avyla.security.domain.entity.RefreshToken;
+import org.avyla.security.domain.repo.RefreshTokenRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Refresh tokens opacos con rotación (tabla refresh_token).
+ * - Al cliente se entrega un valor aleatorio de 256 bits; en BD solo queda su SHA-256 (búsqueda por índice único).
+ * - Cada uso rota el token dentro de la misma familia y desliza su vencimiento, sin pasar la vida máxima de la sesión.
+ * - Presentar un token ya rotado revoca toda la familia: alguien más lo tiene.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository tokenRepo;
+    private final AuthProperties props;
+
+    /** Resultado de una rotación: usuario dueño y nuevo token en claro. */
+    public record Rotation(Long userId, String refreshToken) {}
+
+    /**
+     * Abre una sesión nueva (login) y devuelve el token en claro.
+     */
+    @Transactional
+    public String issue(Long userId) {
+        var now = Instant.now();
+        var cfg = props.getRefresh();
+        var familyExpiresAt = now.plus(cfg.getMaxLifetime());
+        return create(userId, UUID.randomUUID(), now, min(now.plus(cfg.getIdleTtl()), familyExpiresAt), familyExpiresAt);
+    }
+
+    /**
+     * Consume el token y emite el siguiente de la familia; 401 si no es válido.
+     * La revocación por reutilización se confirma aunque la petición falle.
+     */
+    @Transactional(noRollbackFor = ResponseStatusException.class)
+    public Rotation rotate(String rawToken) {
+        var now = Instant.now();
+        RefreshToken token = tokenRepo.findByTokenHash(hash(rawToken)).orElseThrow(RefreshTokenService::invalid);
+
+        if (token.getRevokedAt() != null || !now.isBefore(token.getExpiresAt())) {
+            throw invalid();
+        }
+        if (token.getRotatedAt() != null || tokenRepo.markRotated(token.getId(), now) == 0) {
+            int revoked = tokenRepo.revokeFamily(token.getFamilyId(), now);
+            log.warn("RefreshTokenService: reutilización de token rotado (usuario {}), familia {} revocada ({} tokens)",
+                    token.getUserId(), token.getFamilyId(), revoked);
+            throw invalid();
+        }
+
+        var expiresAt = min(now.plus(props.getRefresh().getIdleTtl()), token.getFamilyExpiresAt());
+        String next = create(token.getUserId(), token.getFamilyId(), now, expiresAt, token.getFamilyExpiresAt());
+        return new Rotation(token.getUserId(), next);
+    }
+
+    /**
+     * Cierra la sesión del token (toda su familia). Un token desconocido se ignora.
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        tokenRepo.findByTokenHash(hash(rawToken))
+                .ifPresent(t -> tokenRepo.revokeFamily(t.getFamilyId(), Instant.now()));
+    }
+
+    /**
+     * Cierra todas las sesiones del usuario (cambio de contraseña, desactivación, eliminación).
+     */
+    @Transactional
+    public int revokeAllForUser(Long userId) {
+        return tokenRepo.revokeAllByUserId(userId, Instant.now());
+    }
+
+    /**
+     * Borra por lotes los tokens vencidos; devuelve cuántos eliminó.
+     */
+    public int purgeExpired() {
+        var now = Instant.now();
+        int batch = Math.max(1, props.getRefresh().getCleanupBatchSize());
+        int total = 0;
+        int deleted;
+        do {
+            deleted = tokenRepo.deleteExpired(now, batch);
+            total += deleted;
+        } while (deleted == batch);
+        return total;
+    }
+
+    private String create(Long userId, UUID familyId, Instant now, Instant expiresAt, Instant familyExpiresAt) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String raw = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        tokenRepo.save(RefreshToken.builder()
+                .tokenHash(hash(raw))
+                .familyId(familyId)
+                .userId(userId)
+                .createdAt(now)
+                .expiresAt(expiresAt)
+                .familyExpiresAt(familyExpiresAt)
+                .build());
+        return raw;
+    }
+
+    static String hash(String rawToken) {
+        try {
+            var md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private static Instant min(Instant a, Instant b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static ResponseStatusException invalid() {
+        return new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token inválido o expirado");
+    }
+}
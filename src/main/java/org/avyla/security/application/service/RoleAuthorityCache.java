@@ -0,0 +1,128 @@
+package org.avyla.security.application.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.avyla.security.api.dto.response.RoleCacheStatsResponse;
+import org.avyla.security.config.AuthProperties;
+import org.avyla.security.domain.event.RoleAuthoritiesChangedEvent;
+import org.avyla.security.domain.repo.RoleRepository;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché en memoria rol → authorities (ROLE_X + permisos del rol).
+ * - Se carga completa en una sola consulta (roles ⋈ permisos) y se publica como snapshot inmutable.
+ * - Se invalida al confirmar cambios de Role/Permission y, como respaldo (cambios por SQL), por TTL.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RoleAuthorityCache {
+
+    private final RoleRepository roleRepository;
+    private final AuthProperties props;
+
+    private volatile Snapshot snapshot;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+
+    /**
+     * Authorities de un conjunto de roles, sin duplicados y en orden estable (roles primero, luego permisos).
+     */
+    public List<GrantedAuthority> authoritiesFor(Collection<Long> roleIds) {
+        var byRole = current().byRoleId;
+        hits.incrementAndGet();
+
+        var roles = new LinkedHashSet<GrantedAuthority>();
+        var permissions = new LinkedHashSet<GrantedAuthority>();
+        for (Long roleId : roleIds) {
+            var entry = byRole.get(roleId);
+            if (entry == null) continue; // rol creado después del snapshot: lo trae el próximo refresh
+            roles.add(entry.role());
+            permissions.addAll(entry.permissions());
+        }
+        var all = new ArrayList<GrantedAuthority>(roles.size() + permissions.size());
+        all.addAll(roles);
+        all.addAll(permissions);
+        return all;
+    }
+
+    /**
+     * Recarga roles y permisos y reemplaza el snapshot de forma atómica.
+     */
+    @Transactional(readOnly = true)
+    public synchronized RoleCacheStatsResponse refresh() {
+        var rows = roleRepository.findAllRoleAuthorities();
+
+        var roles = new HashMap<Long, GrantedAuthority>();
+        var perms = new HashMap<Long, LinkedHashSet<GrantedAuthority>>();
+        for (var row : rows) {
+            roles.putIfAbsent(row.getRoleId(), new SimpleGrantedAuthority("ROLE_".concat(row.getRoleEnum().name())));
+            var set = perms.computeIfAbsent(row.getRoleId(), id -> new LinkedHashSet<>());
+            if (row.getPermission() != null) set.add(new SimpleGrantedAuthority(row.getPermission()));
+        }
+
+        var byRoleId = new HashMap<Long, RoleAuthorities>();
+        int permissions = 0;
+        for (var e : roles.entrySet()) {
+            var list = List.copyOf(perms.get(e.getKey()));
+            permissions += list.size();
+            byRoleId.put(e.getKey(), new RoleAuthorities(e.getValue(), list));
+        }
+
+        this.snapshot = new Snapshot(Map.copyOf(byRoleId), permissions, Instant.now());
+        refreshes.incrementAndGet();
+        log.debug("RoleAuthorityCache: {} roles recargados ({} permisos)", byRoleId.size(), permissions);
+        return stats();
+    }
+
+    public void invalidate() {
+        this.snapshot = null;
+    }
+
+    // Después del commit: un login concurrente no debe volver a cachear los permisos anteriores
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoleAuthoritiesChanged(RoleAuthoritiesChangedEvent event) {
+        log.debug("RoleAuthorityCache: {} {} cambió, invalidando", event.entity(), event.id());
+        invalidate();
+    }
+
+    public RoleCacheStatsResponse stats() {
+        var snap = snapshot;
+        return new RoleCacheStatsResponse(
+                hits.get(),
+                refreshes.get(),
+                snap != null ? snap.byRoleId.size() : 0,
+                snap != null ? snap.permissions : 0,
+                snap != null ? snap.loadedAt : null);
+    }
+
+    private Snapshot current() {
+        var snap = snapshot;
+        var ttl = props.getRoleCache().getTtl();
+        if (snap != null && Instant.now().isBefore(snap.loadedAt.plus(ttl))) return snap;
+        return refreshSnapshot();
+    }
+
+    private synchronized Snapshot refreshSnapshot() {
+        var snap = snapshot;
+        if (snap == null || !Instant.now().isBefore(snap.loadedAt.plus(props.getRoleCache().getTtl()))) refresh();
+        return snapshot;
+    }
+
+    private record RoleAuthorities(GrantedAuthority role, List<GrantedAuthority> permissions) {
+    }
+
+    private record Snapshot(Map<Long, RoleAuthorities> byRoleId,
+                            int permissions,
+                            Instant loadedAt) {
+    }
+}
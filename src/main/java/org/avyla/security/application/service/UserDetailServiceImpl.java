@@ -3,27 +3,29 @@ package org.avyla.security.application.service;
 import lombok.RequiredArgsConstructor;
 import org.avyla.security.api.dto.request.AuthCreateUserRequest;
 import org.avyla.security.api.dto.request.AuthLoginRequest;
+import org.avyla.security.api.dto.request.RefreshTokenRequest;
 import org.avyla.security.api.dto.response.AuthResponse;
 import org.avyla.security.domain.entity.Role;
 import org.avyla.security.domain.entity.UserEntity;
 import org.avyla.security.domain.repo.RoleRepository;
 import org.avyla.security.domain.repo.UserRepository;
 import org.avyla.shared.util.JwtUtils;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -35,45 +37,41 @@ public class UserDetailServiceImpl implements UserDetailsService {
     private final PasswordEncoder passwordEncoder;
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
+    private final RoleAuthorityCache roleAuthorityCache;
+    private final PasswordHashingService passwordHashing;
+    private final RefreshTokenService refreshTokenService;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
 
 
-        UserEntity userEntity = userRepository.findUserEntitiesByUsername(username)
-                .orElseThrow(
-                        () -> new UsernameNotFoundException("User not found with username: " + username)
-                );
-
-        List<SimpleGrantedAuthority> authorityList = new ArrayList<>();
+        // Una consulta: credenciales + ids de rol; las authorities salen de la caché por rol
+        var rows = userRepository.findCredentialsByUsername(username);
+        if (rows.isEmpty()) {
+            throw new UsernameNotFoundException("User not found with username: " + username);
+        }
+        return toAuthenticatedUser(rows);
+    }
 
-        userEntity.getRoles()
-                .forEach(
-                        role -> authorityList.add(
-                                new SimpleGrantedAuthority("ROLE_".concat(role.getRoleEnum().name()))
-                        )
-                );
+    private AuthenticatedUser toAuthenticatedUser(List<UserRepository.CredentialsView> rows)
+    {
+        var user = rows.get(0);
+        List<Long> roleIds = rows.stream()
+                .map(UserRepository.CredentialsView::getRoleId)
+                .filter(Objects::nonNull)
+                .toList();
 
-        userEntity.getRoles()
-                .stream()
-                .flatMap(
-                        role -> role.getPermissionList()
-                                .stream())
-                .forEach(
-                        permission -> authorityList
-                                .add(new SimpleGrantedAuthority(permission.getName())));
-
-        return new User
+        return new AuthenticatedUser
                 (
-                        userEntity.getUsername(),
-                        userEntity.getPassword(),
-                        userEntity.isEnabled(),
-                        userEntity.isAccountNonExpired(),
-                        userEntity.isCredentialsNonExpired(),
-                        userEntity.isAccountNonLocked(),
-                        authorityList
+                        user.getUserId(),
+                        user.getUsername(),
+                        user.getPassword(),
+                        user.getEnable() && user.getDeletedAt() == null,
+                        user.getAccountNonExpired(),
+                        user.getCredentialsNonExpired(),
+                        user.getAccountNonLocked(),
+                        roleAuthorityCache.authoritiesFor(roleIds)
                 );
-
     }
 
     public AuthResponse createUser(AuthCreateUserRequest createUserRequest)
@@ -108,31 +106,20 @@ public class UserDetailServiceImpl implements UserDetailsService {
 
         UserEntity userSaved = userRepository.save(userEntity);
 
-        ArrayList<SimpleGrantedAuthority> authorities = new ArrayList<>();
-
-         userSaved.getRoles()
-                 .forEach(
-                         role -> authorities.add(
-                                 new SimpleGrantedAuthority("ROLE_".concat(role.getRoleEnum().name()))
-                         )
-                 );
-
-         userSaved.getRoles()
-                 .stream()
-                 .flatMap(
-                         role -> role.getPermissionList()
-                                 .stream())
-                 .forEach(permission -> authorities.add(new SimpleGrantedAuthority(permission.getName())));
+        List<GrantedAuthority> authorities = roleAuthorityCache.authoritiesFor(
+                userSaved.getRoles().stream().map(Role::getId).toList());
 
         SecurityContext securityContext = SecurityContextHolder.getContext();
         Authentication authentication = new UsernamePasswordAuthenticationToken(userSaved, null, authorities);
 
-        String accessToken = jwtUtils.createToken(authentication);
+        String accessToken = jwtUtils.createToken(authentication, userSaved.getUserId());
+        String refreshToken = refreshTokenService.issue(userSaved.getUserId());
 
         return new AuthResponse(
                 username,
                 "User created successfully",
                 accessToken,
+                refreshToken,
                 true
         );
 
@@ -146,15 +133,48 @@ public class UserDetailServiceImpl implements UserDetailsService {
         Authentication authentication = this.authenticate(username, password);
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
-        String accessToken = jwtUtils.createToken(authentication);
+        Long userId = ((AuthenticatedUser) authentication.getPrincipal()).getUserId();
+        String accessToken = jwtUtils.createToken(authentication, userId);
+        String refreshToken = refreshTokenService.issue(userId);
         return new AuthResponse(
                 username,
                 "User logged in successfully",
                 accessToken,
+                refreshToken,
                 true
         );
     }
 
+    /**
+     * Nuevo access token a partir de un refresh token (rotándolo), sin verificar la contraseña.
+     */
+    public AuthResponse refresh(RefreshTokenRequest refreshRequest)
+    {
+        var rotation = refreshTokenService.rotate(refreshRequest.refreshToken());
+
+        var rows = userRepository.findCredentialsByUserId(rotation.userId());
+        AuthenticatedUser user = rows.isEmpty() ? null : toAuthenticatedUser(rows);
+        if (user == null || !user.isEnabled() || !user.isAccountNonLocked() || !user.isAccountNonExpired()) {
+            refreshTokenService.revokeAllForUser(rotation.userId());
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token inválido o expirado");
+        }
+
+        Authentication authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        String accessToken = jwtUtils.createToken(authentication, user.getUserId());
+        return new AuthResponse(
+                user.getUsername(),
+                "Token refreshed successfully",
+                accessToken,
+                rotation.refreshToken(),
+                true
+        );
+    }
+
+    public void logout(RefreshTokenRequest refreshRequest)
+    {
+        refreshTokenService.revoke(refreshRequest.refreshToken());
+    }
+
     private Authentication authenticate(String username, String password)
     {
         UserDetails userDetails = this.loadUserByUsername(username);
@@ -163,11 +183,13 @@ public class UserDetailServiceImpl implements UserDetailsService {
             throw new BadCredentialsException(String.format("Invalid username or password: %s", username));
         }
 
-        if (!passwordEncoder.matches(password, userDetails.getPassword())) {
+        // BCrypt en el pool acotado del login (503 si está saturado)
+        if (!passwordHashing.matches(password, userDetails.getPassword())) {
             throw new BadCredentialsException(String.format("Invalid password: %s", username));
         }
+        passwordHashing.rehashIfNeeded(((AuthenticatedUser) userDetails).getUserId(), password, userDetails.getPassword());
 
-        return new UsernamePasswordAuthenticationToken(username, password, userDetails.getAuthorities());
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
     }
 
 }
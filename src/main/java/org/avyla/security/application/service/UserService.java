@@ -10,11 +10,17 @@ import org.avyla.security.domain.entity.Role;
 import org.avyla.security.domain.entity.UserEntity;
 import org.avyla.security.domain.repo.RoleRepository;
 import org.avyla.security.domain.repo.UserRepository;
+import org.avyla.shared.pagination.CursorCodec;
+import org.avyla.shared.pagination.CursorSliceResponse;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -29,6 +35,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
+    private final RefreshTokenService refreshTokenService;
     private final PasswordEncoder passwordEncoder;
 
     // ========== CONSULTAS ==========
@@ -63,6 +70,34 @@ public class UserService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get a page of non-deleted users by cursor (keyset on username + id), without total count
+     * Two queries per page: the ids of the page, then those users with their roles
+     *
+     * @param cursor Cursor returned by the previous page (null for the first one)
+     * @param size Page size (1..100, default 20)
+     * @return Page of users ordered by username
+     */
+    @Transactional(readOnly = true)
+    public CursorSliceResponse<UserListResponse> scrollUsers(String cursor, Integer size) {
+        var after = CursorCodec.decode(cursor);
+        int pageSize = CursorCodec.size(size);
+
+        List<Long> ids = userRepository.findPageIdsAfter(
+                after != null ? after.key() : "",
+                after != null ? after.id() : 0L,
+                PageRequest.ofSize(pageSize + 1));
+
+        Map<Long, UserEntity> byId = new HashMap<>();
+        if (!ids.isEmpty()) {
+            userRepository.findAllWithRolesByIdIn(ids).forEach(u -> byId.put(u.getUserId(), u));
+        }
+        List<UserEntity> users = ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+
+        return CursorSliceResponse.of(users, pageSize, this::mapToUserListResponse,
+                u -> CursorCodec.encode(u.getUsername(), u.getUserId()));
+    }
+
     /**
      * Get detailed information of a specific user by ID
      *
@@ -269,6 +304,7 @@ public class UserService {
 
         user.setPassword(passwordEncoder.encode(request.newPassword()));
         userRepository.save(user);
+        refreshTokenService.revokeAllForUser(userId);
     }
 
     // ========== DESACTIVACIÓN Y ACTIVACIÓN ==========
@@ -295,6 +331,7 @@ public class UserService {
 
         user.setIsEnable(false);
         userRepository.save(user);
+        refreshTokenService.revokeAllForUser(userId);
     }
 
     /**
@@ -341,6 +378,7 @@ public class UserService {
 
         user.softDelete();
         userRepository.save(user);
+        refreshTokenService.revokeAllForUser(userId);
     }
 
     /**
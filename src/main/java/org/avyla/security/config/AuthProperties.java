@@ -0,0 +1,47 @@
+package org.avyla.security.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "security.auth")
+public class AuthProperties {
+    private TokenCache tokenCache = new TokenCache();
+    private RoleCache roleCache = new RoleCache();
+    private Password password = new Password();
+    private Refresh refresh = new Refresh();
+
+    @Data
+    public static class TokenCache {
+        // Authentication ya verificada por token: evita verificar firma y reconstruir authorities en cada request
+        private boolean enabled = true;
+        private int maxEntries = 10_000;
+    }
+
+    @Data
+    public static class RoleCache {
+        // Respaldo para cambios de roles/permisos hechos por SQL (los de la app invalidan al confirmar)
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+
+    @Data
+    public static class Password {
+        // Costo BCrypt: los hashes con otro costo se actualizan en el siguiente login correcto
+        private int bcryptStrength = 10;
+        // Pool acotado para BCrypt del login: cola llena o espera vencida → 503
+        private int hashThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        private int queueCapacity = 200;
+        private Duration waitTimeout = Duration.ofSeconds(10);
+    }
+
+    @Data
+    public static class Refresh {
+        // Sesión deslizante: cada refresh extiende idleTtl, nunca más allá de maxLifetime desde el login
+        private Duration idleTtl = Duration.ofDays(7);
+        private Duration maxLifetime = Duration.ofDays(30);
+        private Duration cleanupInterval = Duration.ofHours(1);
+        private int cleanupBatchSize = 1_000;
+    }
+}
@@ -0,0 +1,61 @@
+package org.avyla.security.config.filter;
+
+import lombok.RequiredArgsConstructor;
+import org.avyla.security.config.AuthProperties;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché acotada de tokens ya verificados (token → Authentication), cada entrada vive hasta el exp del token.
+ * - La clave es el token compacto completo (incluye jti y firma): un token alterado nunca coincide con una entrada.
+ * - Llena: se purgan los vencidos (a lo sumo una vez por segundo) y, si sigue llena, simplemente no se cachea.
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtAuthenticationCache {
+
+    private static final long PURGE_INTERVAL_MS = 1_000;
+
+    private final AuthProperties props;
+
+    private final ConcurrentHashMap<String, Entry> byToken = new ConcurrentHashMap<>();
+    private final AtomicLong nextPurgeAt = new AtomicLong();
+
+    public Authentication get(String token) {
+        if (!props.getTokenCache().isEnabled()) return null;
+        Entry entry = byToken.get(token);
+        if (entry == null) return null;
+        if (System.currentTimeMillis() >= entry.expiresAt()) {
+            byToken.remove(token, entry);
+            return null;
+        }
+        return entry.authentication();
+    }
+
+    public void put(String token, Authentication authentication, long expiresAtMillis) {
+        var cfg = props.getTokenCache();
+        long now = System.currentTimeMillis();
+        if (!cfg.isEnabled() || expiresAtMillis <= now) return;
+
+        if (byToken.size() >= cfg.getMaxEntries()) {
+            purgeExpired(now);
+            if (byToken.size() >= cfg.getMaxEntries()) return;
+        }
+        byToken.put(token, new Entry(authentication, expiresAtMillis));
+    }
+
+    public int size() {
+        return byToken.size();
+    }
+
+    private void purgeExpired(long now) {
+        long next = nextPurgeAt.get();
+        if (now < next || !nextPurgeAt.compareAndSet(next, now + PURGE_INTERVAL_MS)) return;
+        byToken.values().removeIf(e -> now >= e.expiresAt());
+    }
+
+    private record Entry(Authentication authentication, long expiresAt) {}
+}
@@ -7,6 +7,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
+import org.avyla.security.application.service.AuthenticatedUser;
 import org.avyla.shared.util.JwtUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -28,6 +29,7 @@ import java.util.Collection;
 public class JwtTokenValidator extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
+    private final JwtAuthenticationCache tokenCache;
 
     @Override
     protected void doFilterInternal(@NotNull HttpServletRequest request,
@@ -41,27 +43,40 @@ public class JwtTokenValidator extends OncePerRequestFilter {
             // Bearer <token> -> se extrae el token
             jwtToken = jwtToken.substring(7);
 
-            DecodedJWT decodedJWT = jwtUtils.validateToken(jwtToken);
+            Authentication authenticationToken = tokenCache.get(jwtToken);
+            if (authenticationToken == null) {
+                DecodedJWT decodedJWT = jwtUtils.validateToken(jwtToken);
+                authenticationToken = toAuthentication(decodedJWT);
+                tokenCache.put(jwtToken, authenticationToken, decodedJWT.getExpiresAt().getTime());
+            }
 
-            String username = jwtUtils.extractUsername(decodedJWT);
-            String stringAuthorities = jwtUtils.getSpecificClaim(decodedJWT, "authorities").asString();
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(authenticationToken);
+            SecurityContextHolder.setContext(context);
+        }
 
-            Collection<? extends GrantedAuthority> authorities = AuthorityUtils.commaSeparatedStringToAuthorityList(stringAuthorities);
+        filterChain.doFilter(request, response);
+    }
+
+    private Authentication toAuthentication(DecodedJWT decodedJWT)
+    {
+        String username = jwtUtils.extractUsername(decodedJWT);
+        String stringAuthorities = jwtUtils.getSpecificClaim(decodedJWT, "authorities").asString();
 
-            // ✅ CAMBIO: Crear un UserDetails en lugar de pasar solo el username
-            UserDetails userDetails = User.builder()
+        Collection<? extends GrantedAuthority> authorities = AuthorityUtils.commaSeparatedStringToAuthorityList(stringAuthorities);
+
+        // ✅ CAMBIO: Crear un UserDetails en lugar de pasar solo el username
+        // Con el claim uid el principal lleva el id del usuario (CurrentUserService no consulta la BD)
+        Long userId = jwtUtils.getSpecificClaim(decodedJWT, JwtUtils.USER_ID_CLAIM).asLong();
+        UserDetails userDetails = userId != null
+                ? new AuthenticatedUser(userId, username, "", authorities)
+                : User.builder()
                     .username(username)
                     .password("") // No se necesita password para JWT
                     .authorities(authorities)
                     .build();
 
-            SecurityContext context = SecurityContextHolder.createEmptyContext();
-            // ✅ CAMBIO: Pasar userDetails como principal en lugar de username
-            Authentication authenticationToken = new UsernamePasswordAuthenticationToken(userDetails, null, authorities);
-            context.setAuthentication(authenticationToken);
-            SecurityContextHolder.setContext(context);
-        }
-
-        filterChain.doFilter(request, response);
+        // ✅ CAMBIO: Pasar userDetails como principal en lugar de username
+        return new UsernamePasswordAuthenticationToken(userDetails, null, authorities);
     }
 }
\ No newline at end of file
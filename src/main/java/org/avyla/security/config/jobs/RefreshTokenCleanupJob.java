@@ -0,0 +1,28 @@
+package org.avyla.security.config.jobs;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.avyla.security.application.service.RefreshTokenService;
+import org.avyla.shared.scheduling.LeaderElection;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenCleanupJob {
+
+    private final RefreshTokenService refreshTokenService;
+    private final LeaderElection leader;
+
+    // Tokens vencidos (rotados, revocados o abandonados) ya no sirven ni para detectar reutilización
+    @Scheduled(fixedDelayString = "${security.auth.refresh.cleanup-interval:PT1H}",
+               initialDelayString = "${security.auth.refresh.cleanup-interval:PT1H}")
+    public void purgeExpiredTokens() {
+        if (!leader.isLeader()) return;
+        int deleted = refreshTokenService.purgeExpired();
+        if (deleted > 0) {
+            log.info("RefreshTokenCleanupJob: {} refresh tokens vencidos eliminados", deleted);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.avyla.security.domain.event.RoleAuthoritiesListener;
 
 @Data
 @Builder
@@ -12,6 +13,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @Entity
 @Table(name = "permissions")
+@EntityListeners(RoleAuthoritiesListener.class)
 public class Permission {
 
     @Id
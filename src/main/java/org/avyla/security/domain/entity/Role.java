@@ -7,6 +7,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.avyla.security.domain.enums.RoleEnum;
+import org.avyla.security.domain.event.RoleAuthoritiesListener;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -16,6 +17,7 @@ import java.util.Set;
 @NoArgsConstructor
 @Entity
 @Table(name = "roles")
+@EntityListeners(RoleAuthoritiesListener.class)
 @Builder
 public class Role {
 
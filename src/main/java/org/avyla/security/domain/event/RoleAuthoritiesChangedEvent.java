@@ -0,0 +1,6 @@
+package org.avyla.security.domain.event;
+
+/**
+ * Se publica cuando un Role o un Permission se crea, cambia o se elimina.
+ */
+public record RoleAuthoritiesChangedEvent(String entity, Long id) {}
@@ -0,0 +1,30 @@
+package org.avyla.security.domain.event;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.avyla.security.domain.entity.Permission;
+import org.avyla.security.domain.entity.Role;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Entity listener de Role y Permission (instanciado por Spring vía SpringBeanContainer).
+ * Traduce los cambios en un evento de aplicación para invalidar la caché de authorities por rol.
+ */
+@RequiredArgsConstructor
+public class RoleAuthoritiesListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (entity instanceof Role role) {
+            publisher.publishEvent(new RoleAuthoritiesChangedEvent("Role", role.getId()));
+        } else if (entity instanceof Permission permission) {
+            publisher.publishEvent(new RoleAuthoritiesChangedEvent("Permission", permission.getId()));
+        }
+    }
+}
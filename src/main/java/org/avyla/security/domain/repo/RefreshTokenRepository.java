@@ -0,0 +1,51 @@
+package org.avyla.security.domain.repo;
+
+import org.avyla.security.domain.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Marca el token como rotado solo si sigue vigente: de dos usos concurrentes, solo uno gana
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+        UPDATE RefreshToken t
+           SET t.rotatedAt = :now
+         WHERE t.id = :id
+           AND t.rotatedAt IS NULL
+           AND t.revokedAt IS NULL
+    """)
+    int markRotated(@Param("id") Long id, @Param("now") Instant now);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.familyId = :familyId AND t.revokedAt IS NULL")
+    int revokeFamily(@Param("familyId") UUID familyId, @Param("now") Instant now);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.userId = :userId AND t.revokedAt IS NULL")
+    int revokeAllByUserId(@Param("userId") Long userId, @Param("now") Instant now);
+
+    // Limpieza por lotes: vencidos (un token vencido ya no sirve ni para detectar reutilización)
+    @Modifying
+    @Transactional
+    @Query(value = """
+        DELETE FROM refresh_token
+         WHERE token_id IN (SELECT token_id FROM refresh_token
+                             WHERE expires_at < :before
+                             LIMIT :limit)
+    """, nativeQuery = true)
+    int deleteExpired(@Param("before") Instant before, @Param("limit") int limit);
+}
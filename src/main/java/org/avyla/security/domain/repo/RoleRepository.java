@@ -1,7 +1,9 @@
 package org.avyla.security.domain.repo;
 
 import org.avyla.security.domain.entity.Role;
+import org.avyla.security.domain.enums.RoleEnum;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,4 +12,18 @@ import java.util.List;
 public interface RoleRepository extends JpaRepository<Role, Long>
 {
     List<Role> findByRoleEnumIn(List<String> roleName);
+
+    // Todos los roles con sus permisos en una sola consulta (RoleAuthorityCache)
+    @Query("""
+        select r.id as roleId, r.roleEnum as roleEnum, p.name as permission
+          from Role r
+          left join r.permissionList p
+    """)
+    List<RoleAuthorityView> findAllRoleAuthorities();
+
+    interface RoleAuthorityView {
+        Long getRoleId();
+        RoleEnum getRoleEnum();
+        String getPermission();
+    }
 }
@@ -1,11 +1,16 @@
 package org.avyla.security.domain.repo;
 
 import org.avyla.security.domain.entity.UserEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,6 +42,36 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
     @Query("SELECT u FROM UserEntity u WHERE u.userId = :userId AND u.deletedAt IS NULL")
     Optional<UserEntity> findByIdAndNotDeleted(@Param("userId") Long userId);
 
+    /**
+     * Credenciales y roles para el login en una sola consulta (una fila por rol, sin cargar permisos)
+     */
+    @Query("SELECT u.userId AS userId, u.username AS username, u.password AS password, " +
+            "u.isEnable AS enable, u.deletedAt AS deletedAt, u.isAccountNoLocked AS accountNonLocked, " +
+            "u.isAccountNonExpired AS accountNonExpired, u.isCredentialsNonExpired AS credentialsNonExpired, " +
+            "r.id AS roleId " +
+            "FROM UserEntity u LEFT JOIN u.roles r WHERE u.username = :username")
+    List<CredentialsView> findCredentialsByUsername(@Param("username") String username);
+
+    /**
+     * Igual que findCredentialsByUsername, por id (refresh token)
+     */
+    @Query("SELECT u.userId AS userId, u.username AS username, u.password AS password, " +
+            "u.isEnable AS enable, u.deletedAt AS deletedAt, u.isAccountNoLocked AS accountNonLocked, " +
+            "u.isAccountNonExpired AS accountNonExpired, u.isCredentialsNonExpired AS credentialsNonExpired, " +
+            "r.id AS roleId " +
+            "FROM UserEntity u LEFT JOIN u.roles r WHERE u.userId = :userId")
+    List<CredentialsView> findCredentialsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Reemplaza el hash solo si no cambió desde que se leyó (re-hash de costo tras el login)
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE UserEntity u SET u.password = :newHash WHERE u.userId = :userId AND u.password = :currentHash")
+    int updatePasswordIfUnchanged(@Param("userId") Long userId,
+                                  @Param("currentHash") String currentHash,
+                                  @Param("newHash") String newHash);
+
     /**
      * Obtener ID de usuario por username
      */
@@ -51,6 +86,22 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
     @Query("SELECT u FROM UserEntity u WHERE u.deletedAt IS NULL ORDER BY u.username")
     List<UserEntity> findAllNotDeleted();
 
+    /**
+     * Keyset sobre (username, user_id) de usuarios NO eliminados: solo ids (la página se carga con findAllWithRolesByIdIn)
+     */
+    @Query("SELECT u.userId FROM UserEntity u WHERE u.deletedAt IS NULL " +
+            "AND (u.username, u.userId) > (:afterUsername, :afterId) " +
+            "ORDER BY u.username, u.userId")
+    List<Long> findPageIdsAfter(@Param("afterUsername") String afterUsername,
+                                @Param("afterId") long afterId,
+                                Pageable limit);
+
+    /**
+     * Usuarios con sus roles en una sola consulta (sin orden: lo aplica quien llama)
+     */
+    @Query("SELECT DISTINCT u FROM UserEntity u LEFT JOIN FETCH u.roles WHERE u.userId IN :ids")
+    List<UserEntity> findAllWithRolesByIdIn(@Param("ids") Collection<Long> ids);
+
     /**
      * Listar usuarios activos (no eliminados y habilitados)
      */
@@ -135,4 +186,16 @@ public interface UserRepository extends JpaRepository<UserEntity, Long> {
             "AND u.userId != :userId " +
             "AND u.deletedAt IS NULL")
     boolean existsByDocumentNumberAndNotSelf(@Param("documentNumber") String documentNumber, @Param("userId") Long userId);
+
+    interface CredentialsView {
+        Long getUserId();
+        String getUsername();
+        String getPassword();
+        Boolean getEnable();
+        LocalDateTime getDeletedAt();
+        Boolean getAccountNonLocked();
+        Boolean getAccountNonExpired();
+        Boolean getCredentialsNonExpired();
+        Long getRoleId();
+    }
 }
\ No newline at end of file
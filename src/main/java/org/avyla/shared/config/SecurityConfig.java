@@ -2,6 +2,8 @@ package org.avyla.shared.config;
 
 import lombok.RequiredArgsConstructor;
 import org.avyla.security.application.service.UserDetailServiceImpl;
+import org.avyla.security.config.AuthProperties;
+import org.avyla.security.config.filter.JwtAuthenticationCache;
 import org.avyla.security.config.filter.JwtTokenValidator;
 import org.avyla.shared.util.JwtUtils;
 import org.springframework.context.annotation.Bean;
@@ -28,6 +30,8 @@ import org.springframework.web.cors.CorsConfigurationSource;
 public class SecurityConfig {
 
     private final JwtUtils jwtUtils;
+    private final JwtAuthenticationCache tokenCache;
+    private final AuthProperties authProperties;
     private final CorsConfigurationSource corsConfigurationSource;
 
     @Bean
@@ -41,6 +45,9 @@ public class SecurityConfig {
                     // ========== ENDPOINTS PÚBLICOS ==========
                     // Solo login (sign-up comentado para producción)
                     http.requestMatchers(HttpMethod.POST, "/api/auth/log-in").permitAll();
+                    // Refresh y logout se autentican con el refresh token del cuerpo
+                    http.requestMatchers(HttpMethod.POST, "/api/auth/refresh").permitAll();
+                    http.requestMatchers(HttpMethod.POST, "/api/auth/log-out").permitAll();
                     // http.requestMatchers(HttpMethod.POST, "/api/auth/sing-up").permitAll(); // ← Comentar en producción
 
                     // ========== USERS - REGLAS ESPECÍFICAS PRIMERO ==========
@@ -82,6 +89,7 @@ public class SecurityConfig {
                     http.requestMatchers(HttpMethod.GET, "/api/checklists/templates/*/versions/published").permitAll();
                     http.requestMatchers(HttpMethod.GET, "/api/checklists/me/**").hasRole("DRIVER");
                     http.requestMatchers(HttpMethod.POST, "/api/checklists/instances/*/responses").hasAnyRole("DRIVER", "MECHANIC");
+                    http.requestMatchers(HttpMethod.PATCH, "/api/checklists/instances/*/responses").hasAnyRole("DRIVER", "MECHANIC");
                     http.requestMatchers(HttpMethod.POST, "/api/checklists/instances/*/submit").hasAnyRole("DRIVER", "MECHANIC");
                     http.requestMatchers(HttpMethod.GET, "/api/checklists/instances/**").hasAnyRole("SUPERVISOR", "ADMIN");
                     http.requestMatchers(HttpMethod.POST, "/api/checklists/instances").hasAnyRole("SUPERVISOR", "ADMIN");
@@ -97,7 +105,7 @@ public class SecurityConfig {
                     // ========== DEFAULT ==========
                     http.anyRequest().authenticated();
                 })
-                .addFilterBefore(new JwtTokenValidator(jwtUtils), BasicAuthenticationFilter.class)
+                .addFilterBefore(new JwtTokenValidator(jwtUtils, tokenCache), BasicAuthenticationFilter.class)
                 .build();
     }
 
@@ -116,6 +124,6 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(authProperties.getPassword().getBcryptStrength());
     }
 }
\ No newline at end of file
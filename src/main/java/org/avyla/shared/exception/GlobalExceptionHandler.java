@@ -1,7 +1,9 @@
 package org.avyla.shared.exception;
 
 
+import jakarta.persistence.OptimisticLockException;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -32,6 +34,16 @@ public class GlobalExceptionHandler {
         return base(HttpStatus.BAD_REQUEST, "Solicitud inválida", ex.getMessage(), req.getRequestURI());
     }
 
+    // Otra petición modificó el recurso entre la lectura y la escritura: el cliente puede reintentar
+    // el mismo cuerpo (guardados idempotentes) tras releer el estado si lo necesita.
+    @ExceptionHandler({OptimisticLockException.class, OptimisticLockingFailureException.class})
+    public ProblemDetail handleOptimisticLock(RuntimeException ex, HttpServletRequest req) {
+        var pd = base(HttpStatus.CONFLICT, "Conflicto de concurrencia",
+                "El recurso fue modificado por otra operación, reintente", req.getRequestURI());
+        pd.setProperty("retryable", true);
+        return pd;
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ProblemDetail handleValidation(MethodArgumentNotValidException ex, HttpServletRequest req) {
         var errors = ex.getBindingResult().getFieldErrors().stream()
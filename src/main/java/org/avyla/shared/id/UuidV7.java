@@ -0,0 +1,20 @@
+package org.avyla.shared.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Id UUID versión 7 (RFC 9562) generado por {@link UuidV7Generator}.
+ * Ordenado por tiempo: los INSERT se agregan al final del índice de la PK en lugar de repartirse por todo el B-tree.
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface UuidV7 {
+}
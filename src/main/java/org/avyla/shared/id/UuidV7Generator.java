@@ -0,0 +1,19 @@
+package org.avyla.shared.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+/**
+ * Generador Hibernate de UUIDv7 (ver {@link UuidV7}).
+ * Sin estado propio: todas las instancias (una por entidad anotada) delegan en la misma {@link UuidV7Sequence},
+ * así los ids son monotónicos en toda la JVM y no solo por entidad.
+ */
+public class UuidV7Generator implements IdentifierGenerator {
+
+    private static final UuidV7Sequence SEQUENCE = new UuidV7Sequence(System::currentTimeMillis);
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return SEQUENCE.next();
+    }
+}
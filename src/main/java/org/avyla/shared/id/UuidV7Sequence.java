@@ -0,0 +1,50 @@
+package org.avyla.shared.id;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Secuencia de UUIDv7 monotónica (RFC 9562, sección 6.2, método 1).
+ * - 48 bits: milisegundos Unix; 12 bits (rand_a): contador dentro del mismo milisegundo; 62 bits aleatorios.
+ * - Si el contador se agota o el reloj retrocede, se sigue sobre el último milisegundo emitido + 1,
+ *   así cada id es estrictamente mayor que el anterior.
+ */
+final class UuidV7Sequence {
+
+    private static final int MAX_COUNTER = 0xFFF;
+
+    private final LongSupplier clock;
+    private final SecureRandom random = new SecureRandom();
+
+    private long lastMillis = -1;
+    private int counter;
+
+    UuidV7Sequence(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    UUID next() {
+        long millis;
+        int seq;
+        synchronized (this) {
+            long now = clock.getAsLong();
+            if (now > lastMillis) {
+                lastMillis = now;
+                // Arranque aleatorio en la mitad baja: deja margen al contador sin hacer predecible el id
+                counter = random.nextInt(MAX_COUNTER / 2);
+            } else if (counter < MAX_COUNTER) {
+                counter++;
+            } else {
+                lastMillis++;
+                counter = 0;
+            }
+            millis = lastMillis;
+            seq = counter;
+        }
+
+        long msb = (millis << 16) | 0x7000L | seq;
+        long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+}
@@ -0,0 +1,197 @@
+package org.avyla.shared.image;
+
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.imageio.*;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Reducción de imágenes con ImageIO puro (sin dependencias nativas).
+ * - Decodifica una sola vez, con submuestreo en el lector cuando la foto es mucho mayor que la variante más grande
+ *   (una foto de 12 MP no se expande completa en heap para producir 1280 px).
+ * - Reduce por pasos sucesivos de 1/2 con interpolación bilineal (calidad aceptable sin el costo de bicúbica).
+ * - Respeta la orientación EXIF de las fotos de celular y aplana transparencias sobre fondo blanco.
+ * - Rechaza imágenes con más de MAX_PIXELS (bombas de descompresión).
+ */
+public final class ImageDownscaler {
+
+    public static final long MAX_PIXELS = 50_000_000L;
+    private static final String JPEG_METADATA = "javax_imageio_jpeg_image_1.0";
+    private static final int EXIF_APP1 = 0xE1;
+    private static final int TAG_ORIENTATION = 0x0112;
+
+    private ImageDownscaler() {}
+
+    /**
+     * @param maxEdges lados máximos en px, de mayor a menor; cada variante se deriva de la anterior
+     * @return un JPEG por cada lado máximo, en el mismo orden
+     */
+    public static List<byte[]> downscaleToJpeg(InputStream content, float quality, int... maxEdges) throws IOException {
+        int[] edges = Arrays.stream(maxEdges).boxed().sorted((a, b) -> b - a).mapToInt(Integer::intValue).toArray();
+
+        BufferedImage base;
+        int orientation;
+        try (ImageInputStream iis = new MemoryCacheImageInputStream(content)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) {
+                throw new IOException("Formato de imagen no soportado");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, false);
+                int w = reader.getWidth(0);
+                int h = reader.getHeight(0);
+                if ((long) w * h > MAX_PIXELS) {
+                    throw new IOException("Imagen demasiado grande: " + w + "x" + h);
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int sub = Math.max(1, Math.max(w, h) / (2 * edges[0]));
+                param.setSourceSubsampling(sub, sub, 0, 0);
+                base = reader.read(0, param);
+                orientation = exifOrientation(reader);
+            } finally {
+                reader.dispose();
+            }
+        }
+
+        List<byte[]> out = new ArrayList<>(edges.length);
+        for (int i = 0; i < edges.length; i++) {
+            base = scaleTo(base, edges[i]);
+            if (i == 0) base = orient(base, orientation); // rotar ya reducido es más barato
+            out.add(encodeJpeg(base, quality));
+        }
+        return out;
+    }
+
+    static BufferedImage scaleTo(BufferedImage src, int maxEdge) {
+        int w = src.getWidth();
+        int h = src.getHeight();
+        double scale = Math.min(1.0, (double) maxEdge / Math.max(w, h));
+        int tw = Math.max(1, (int) Math.round(w * scale));
+        int th = Math.max(1, (int) Math.round(h * scale));
+
+        BufferedImage cur = src;
+        while (true) {
+            int nw = Math.max(tw, cur.getWidth() / 2);
+            int nh = Math.max(th, cur.getHeight() / 2);
+            cur = draw(cur, nw, nh, null);
+            if (nw == tw && nh == th) return cur;
+        }
+    }
+
+    // Orientación EXIF 1..8 -> transformación equivalente (2..8 espejan y/o rotan)
+    static BufferedImage orient(BufferedImage src, int orientation) {
+        int w = src.getWidth();
+        int h = src.getHeight();
+        AffineTransform t = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, w);
+            default -> null;
+        };
+        if (t == null) return src;
+        boolean swap = orientation >= 5;
+        return draw(src, swap ? h : w, swap ? w : h, t);
+    }
+
+    private static BufferedImage draw(BufferedImage src, int w, int h, AffineTransform transform) {
+        BufferedImage dst = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = dst.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, w, h);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            if (transform != null) {
+                g.drawImage(src, transform, null);
+            } else {
+                g.drawImage(src, 0, 0, w, h, null);
+            }
+        } finally {
+            g.dispose();
+        }
+        return dst;
+    }
+
+    private static byte[] encodeJpeg(BufferedImage img, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        var bos = new ByteArrayOutputStream();
+        try (var ios = new MemoryCacheImageOutputStream(bos)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(img, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bos.toByteArray();
+    }
+
+    private static int exifOrientation(ImageReader reader) {
+        try {
+            IIOMetadata meta = reader.getImageMetadata(0);
+            if (meta == null || !Arrays.asList(meta.getMetadataFormatNames()).contains(JPEG_METADATA)) return 1;
+            NodeList unknown = ((Element) meta.getAsTree(JPEG_METADATA)).getElementsByTagName("unknown");
+            for (int i = 0; i < unknown.getLength(); i++) {
+                var node = (IIOMetadataNode) unknown.item(i);
+                if (String.valueOf(EXIF_APP1).equals(node.getAttribute("MarkerTag"))
+                        && node.getUserObject() instanceof byte[] app1) {
+                    int o = parseOrientation(app1);
+                    if (o > 0) return o;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Metadatos corruptos: se usa la orientación tal como viene
+        }
+        return 1;
+    }
+
+    /**
+     * Lee el tag Orientation (0x0112) del IFD0 de un segmento APP1 "Exif\0\0" + TIFF.
+     * @return 1..8, o 0 si no está presente o el segmento no es válido
+     */
+    static int parseOrientation(byte[] app1) {
+        final int tiff = 6;
+        if (app1.length < tiff + 8 || app1[0] != 'E' || app1[1] != 'x' || app1[2] != 'i' || app1[3] != 'f') return 0;
+
+        var buf = ByteBuffer.wrap(app1);
+        if (app1[tiff] == 'I' && app1[tiff + 1] == 'I') buf.order(ByteOrder.LITTLE_ENDIAN);
+        else if (app1[tiff] == 'M' && app1[tiff + 1] == 'M') buf.order(ByteOrder.BIG_ENDIAN);
+        else return 0;
+
+        long ifd = tiff + (buf.getInt(tiff + 4) & 0xFFFFFFFFL);
+        if (ifd + 2 > app1.length) return 0;
+        int entries = buf.getShort((int) ifd) & 0xFFFF;
+        for (int e = 0; e < entries; e++) {
+            int entry = (int) ifd + 2 + e * 12;
+            if (entry + 12 > app1.length) break;
+            if ((buf.getShort(entry) & 0xFFFF) == TAG_ORIENTATION) {
+                int value = buf.getShort(entry + 8) & 0xFFFF;
+                return (value >= 1 && value <= 8) ? value : 0;
+            }
+        }
+        return 0;
+    }
+}
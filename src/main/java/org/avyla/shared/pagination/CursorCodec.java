@@ -0,0 +1,49 @@
+package org.avyla.shared.pagination;
+
+import org.avyla.shared.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor opaco para paginación keyset: (clave de orden, id de desempate) en base64url.
+ * El cliente solo lo devuelve tal cual; un cursor alterado o mal formado es un 400.
+ */
+public final class CursorCodec {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private CursorCodec() {
+    }
+
+    /** Posición después de la cual continúa la siguiente página. */
+    public record Cursor(String key, long id) {}
+
+    public static String encode(String key, long id) {
+        // id primero: es numérico y nunca contiene el separador, la clave puede contener cualquier cosa
+        String raw = id + ":" + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return null si no se envió cursor (primera página)
+     */
+    public static Cursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            if (sep <= 0) throw new IllegalArgumentException();
+            return new Cursor(raw.substring(sep + 1), Long.parseLong(raw.substring(0, sep)));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Cursor inválido");
+        }
+    }
+
+    /** Tamaño de página acotado a [1, MAX_SIZE]. */
+    public static int size(Integer requested) {
+        if (requested == null) return DEFAULT_SIZE;
+        return Math.max(1, Math.min(MAX_SIZE, requested));
+    }
+}
@@ -0,0 +1,22 @@
+package org.avyla.shared.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página keyset sin total: los elementos y el cursor de la siguiente página (null si es la última).
+ */
+public record CursorSliceResponse<T>(List<T> items, int size, boolean hasNext, String nextCursor) {
+
+    /**
+     * Construye la página a partir de una consulta con límite size + 1 (el elemento extra solo indica hasNext).
+     */
+    public static <E, T> CursorSliceResponse<T> of(List<E> rows, int size,
+                                                   Function<E, T> mapper,
+                                                   Function<E, String> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<E> page = hasNext ? rows.subList(0, size) : rows;
+        String next = hasNext ? cursorOf.apply(page.get(page.size() - 1)) : null;
+        return new CursorSliceResponse<>(page.stream().map(mapper).toList(), page.size(), hasNext, next);
+    }
+}
@@ -0,0 +1,143 @@
+package org.avyla.shared.scheduling;
+
+import java.util.*;
+
+/**
+ * Rueda de temporizadores jerárquica (estilo Kafka/Netty): alta, reprogramación y cancelación en O(1),
+ * y avance proporcional a los ticks transcurridos, no al número de temporizadores.
+ * - Nivel 0: WHEEL_SIZE slots de 1 tick; cada nivel superior cubre WHEEL_SIZE veces el anterior.
+ * - Al cruzar el límite de un nivel superior, su slot se "derrama" hacia los niveles inferiores.
+ * - Vencimientos más allá del último nivel se estacionan en él y se reubican en cada vuelta.
+ * No es thread-safe: el llamador debe sincronizar.
+ *
+ * @param <K> identificador del temporizador (uno por key; programar de nuevo reemplaza el anterior)
+ */
+public class HierarchicalTimerWheel<K> {
+
+    static final int WHEEL_BITS = 6;
+    static final int WHEEL_SIZE = 1 << WHEEL_BITS; // 64
+    private static final int MASK = WHEEL_SIZE - 1;
+
+    private final long tickMillis;
+    private final int levels;
+    private final List<List<Set<K>>> wheels = new ArrayList<>();
+    private final Map<K, Timer> timers = new HashMap<>();
+    private final Set<K> overdue = new LinkedHashSet<>();
+
+    private long currentTick;
+
+    private record Timer(long deadlineTick, int level, int slot) {}
+
+    /**
+     * @param tickMillis resolución (duración de un slot del nivel 0)
+     * @param levels     niveles (4 niveles de 64 slots y 1 s cubren ~194 días)
+     * @param nowMillis  instante inicial
+     */
+    public HierarchicalTimerWheel(long tickMillis, int levels, long nowMillis) {
+        if (tickMillis <= 0 || levels <= 0) throw new IllegalArgumentException("tickMillis y levels deben ser > 0");
+        this.tickMillis = tickMillis;
+        this.levels = levels;
+        this.currentTick = nowMillis / tickMillis;
+        for (int l = 0; l < levels; l++) {
+            List<Set<K>> slots = new ArrayList<>(WHEEL_SIZE);
+            for (int s = 0; s < WHEEL_SIZE; s++) slots.add(new LinkedHashSet<>());
+            wheels.add(slots);
+        }
+    }
+
+    /** Programa (o reprograma) key para dispararse en deadlineMillis; nunca antes. */
+    public void schedule(K key, long deadlineMillis) {
+        cancel(key);
+        // Redondeo hacia arriba: el disparo nunca ocurre antes del vencimiento
+        long deadlineTick = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+        place(key, deadlineTick);
+    }
+
+    public boolean cancel(K key) {
+        if (overdue.remove(key)) return true;
+        Timer t = timers.remove(key);
+        if (t == null) return false;
+        wheels.get(t.level()).get(t.slot()).remove(key);
+        return true;
+    }
+
+    /** Descarta todos los temporizadores y reinicia la rueda en nowMillis. */
+    public void clear(long nowMillis) {
+        for (List<Set<K>> slots : wheels) slots.forEach(Set::clear);
+        timers.clear();
+        overdue.clear();
+        currentTick = nowMillis / tickMillis;
+    }
+
+    public boolean contains(K key) {
+        return overdue.contains(key) || timers.containsKey(key);
+    }
+
+    public int size() {
+        return overdue.size() + timers.size();
+    }
+
+    /**
+     * Avanza hasta nowMillis y devuelve los keys vencidos (en orden de vencimiento, aprox. por tick).
+     */
+    public List<K> advance(long nowMillis) {
+        List<K> expired = new ArrayList<>(overdue);
+        overdue.clear();
+
+        long target = nowMillis / tickMillis;
+        while (currentTick < target) {
+            currentTick++;
+            // Derrame de niveles superiores cuyo límite se cruza en este tick (del más alto al más bajo)
+            for (int l = levels - 1; l >= 1; l--) {
+                if ((currentTick & ((1L << (WHEEL_BITS * l)) - 1)) == 0) {
+                    cascade(l, slotOf(currentTick, l), expired);
+                }
+            }
+            Set<K> slot = wheels.get(0).get(slotOf(currentTick, 0));
+            if (!slot.isEmpty()) {
+                List<K> keys = new ArrayList<>(slot);
+                slot.clear();
+                for (K key : keys) {
+                    Timer t = timers.remove(key);
+                    if (t.deadlineTick() <= currentTick) expired.add(key);
+                    else place(key, t.deadlineTick());
+                }
+            }
+        }
+        return expired;
+    }
+
+    private void cascade(int level, int slotIndex, List<K> expired) {
+        Set<K> slot = wheels.get(level).get(slotIndex);
+        if (slot.isEmpty()) return;
+        List<K> keys = new ArrayList<>(slot);
+        slot.clear();
+        for (K key : keys) {
+            Timer t = timers.remove(key);
+            if (t.deadlineTick() <= currentTick) expired.add(key);
+            else place(key, t.deadlineTick());
+        }
+    }
+
+    private void place(K key, long deadlineTick) {
+        long delta = deadlineTick - currentTick;
+        if (delta <= 0) {
+            overdue.add(key);
+            return;
+        }
+        int level = 0;
+        while (level < levels - 1 && delta >= (1L << (WHEEL_BITS * (level + 1)))) {
+            level++;
+        }
+        // Más allá del último nivel: se estaciona en el slot más lejano y se reubica al derramarse
+        long maxDelta = (1L << (WHEEL_BITS * (level + 1))) - 1;
+        long placeTick = delta > maxDelta ? currentTick + maxDelta : deadlineTick;
+        int slot = slotOf(placeTick, level);
+        wheels.get(level).get(slot).add(key);
+        timers.put(key, new Timer(deadlineTick, level, slot));
+    }
+
+    private static int slotOf(long tick, int level) {
+        return (int) ((tick >>> (WHEEL_BITS * level)) & MASK);
+    }
+}
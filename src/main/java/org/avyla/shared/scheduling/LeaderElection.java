@@ -0,0 +1,118 @@
+package org.avyla.shared.scheduling;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Elección de líder sobre la tabla scheduler_lease: solo el líder ejecuta los jobs de cluster
+ * (barrido y rueda de expiración, migración/limpieza de blobs, backfill de variantes, limpieza de refresh tokens).
+ * - Heartbeat en hilo propio: un job lento en el pool de @Scheduled no hace perder el lease.
+ * - Upsert condicional con la hora de la BD: toma el lease si es propio o si venció.
+ * - Localmente el liderazgo se da por perdido un heartbeat antes de que venza en BD,
+ *   así dos nodos nunca se creen líderes a la vez (salvo pausas mayores al TTL).
+ * Se prefirió la tabla a pg_try_advisory_lock: el lock de sesión queda atado a una conexión del pool.
+ */
+@Slf4j
+@Component
+public class LeaderElection {
+
+    private static final String ACQUIRE_SQL = """
+            insert into scheduler_lease (name, owner, lease_until, acquired_at, renewed_at)
+            values (?, ?, now() + make_interval(secs => ?), now(), now())
+            on conflict (name) do update
+               set owner = excluded.owner,
+                   lease_until = excluded.lease_until,
+                   renewed_at = now(),
+                   acquired_at = case when scheduler_lease.owner = excluded.owner
+                                      then scheduler_lease.acquired_at else now() end
+             where scheduler_lease.owner = excluded.owner
+                or scheduler_lease.lease_until < now()
+            """;
+
+    private static final String RELEASE_SQL =
+            "update scheduler_lease set lease_until = now() where name = ? and owner = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SchedulingProperties.Leader props;
+    private final String nodeId;
+    private final ScheduledExecutorService heartbeat;
+
+    // Vigencia local del liderazgo (System.nanoTime); 0 = no líder
+    private volatile long leaderUntilNanos;
+
+    public LeaderElection(JdbcTemplate jdbcTemplate, SchedulingProperties props) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.props = props.getLeader();
+        this.nodeId = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("leader-heartbeat-"));
+    }
+
+    @PostConstruct
+    void start() {
+        if (!props.isEnabled()) return;
+        long period = props.getHeartbeat().toMillis();
+        heartbeat.scheduleWithFixedDelay(this::renew, 0, period, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isLeader() {
+        return !props.isEnabled() || System.nanoTime() - leaderUntilNanos < 0;
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    void renew() {
+        boolean was = isLeader();
+        long startedAt = System.nanoTime();
+        try {
+            int rows = jdbcTemplate.update(ACQUIRE_SQL, props.getLeaseName(), nodeId, props.getLeaseTtl().toSeconds());
+            if (rows == 1) {
+                // Margen de un heartbeat respecto al vencimiento en BD
+                long validity = props.getLeaseTtl().minus(props.getHeartbeat()).toNanos();
+                leaderUntilNanos = startedAt + validity;
+            } else {
+                leaderUntilNanos = 0;
+            }
+        } catch (RuntimeException e) {
+            // Sin BD no se puede garantizar exclusividad: se deja expirar el liderazgo local
+            log.warn("LeaderElection: no se pudo renovar el lease {}: {}", props.getLeaseName(), e.getMessage());
+        }
+        boolean is = isLeader();
+        if (is != was) {
+            log.info("LeaderElection: nodo {} {} el lease {}", nodeId, is ? "obtuvo" : "perdió", props.getLeaseName());
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        heartbeat.shutdownNow();
+        if (props.isEnabled() && isLeader()) {
+            leaderUntilNanos = 0;
+            try {
+                // Liberación explícita: otro nodo toma el lease sin esperar el TTL
+                jdbcTemplate.update(RELEASE_SQL, props.getLeaseName(), nodeId);
+            } catch (RuntimeException e) {
+                log.debug("LeaderElection: no se pudo liberar el lease: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "node";
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package org.avyla.shared.scheduling;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "scheduling")
+public class SchedulingProperties {
+    // Hilos para @Scheduled (un job lento no retrasa el tick de expiración)
+    private int poolSize = 4;
+    private Leader leader = new Leader();
+
+    @Data
+    public static class Leader {
+        // false = nodo único: siempre líder, sin tocar la tabla scheduler_lease
+        private boolean enabled = true;
+        private String leaseName = "scheduler-leader";
+        // Failover: a lo sumo leaseTtl tras la caída del líder
+        private Duration leaseTtl = Duration.ofSeconds(10);
+        private Duration heartbeat = Duration.ofSeconds(3);
+    }
+}
@@ -0,0 +1,25 @@
+package org.avyla.shared.storage;
+
+/**
+ * Metadatos necesarios para servir una descarga sin cargar el contenido en memoria.
+ *
+ * @param contentType        MIME a enviar
+ * @param length             tamaño en bytes (null si no se conoce: se calcula al escribir)
+ * @param storageKey         key en el BlobStore (null = contenido aún en la columna bytea heredada)
+ * @param etag               ETag ya entrecomillado (null = sin ETag)
+ * @param contentDisposition valor del header Content-Disposition
+ * @param legacy             fila que contiene el bytea heredado (solo si storageKey es null)
+ */
+public record BlobDownload(String contentType,
+                           Long length,
+                           String storageKey,
+                           String etag,
+                           String contentDisposition,
+                           LegacyColumn legacy) {
+
+    /**
+     * Ubicación del contenido heredado: columna data de table, fila idColumn = id.
+     * table/idColumn son constantes del código que llama, nunca entrada del usuario.
+     */
+    public record LegacyColumn(String table, String idColumn, Object id) {}
+}
@@ -0,0 +1,79 @@
+package org.avyla.shared.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.avyla.shared.scheduling.LeaderElection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Elimina del BlobStore el contenido sin referencias (ref_count = 0) una vez vencido el periodo de gracia.
+ * Las filas se bloquean con SKIP LOCKED y el archivo se borra antes del commit: un pin() concurrente
+ * espera a que termine este lote y luego detecta que el archivo ya no existe.
+ */
+@Slf4j
+@Component
+public class BlobGarbageCollector {
+
+    private static final String CANDIDATES_SQL = """
+            select sha256, storage_key from blob_object
+            where ref_count = 0 and updated_at < now() - make_interval(secs => ?)
+            order by updated_at
+            limit ?
+            for update skip locked
+            """;
+
+    private final StorageProperties props;
+    private final BlobStore blobStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate tx;
+    private final LeaderElection leader;
+
+    public BlobGarbageCollector(StorageProperties props,
+                                BlobStore blobStore,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager txManager,
+                                LeaderElection leader) {
+        this.props = props;
+        this.blobStore = blobStore;
+        this.jdbcTemplate = jdbcTemplate;
+        this.tx = new TransactionTemplate(txManager);
+        this.leader = leader;
+    }
+
+    @Scheduled(fixedDelayString = "${storage.gc.interval:PT15M}",
+               initialDelayString = "${storage.gc.interval:PT15M}")
+    public void collect() {
+        if (!props.getGc().isEnabled() || !leader.isLeader()) return;
+
+        Integer removed = tx.execute(s -> collectBatch());
+        if (removed != null && removed > 0) {
+            log.info("BlobGarbageCollector: {} blobs sin referencias eliminados", removed);
+        }
+    }
+
+    private int collectBatch() {
+        var gc = props.getGc();
+        List<String[]> candidates = jdbcTemplate.query(CANDIDATES_SQL,
+                (rs, i) -> new String[]{rs.getString("sha256"), rs.getString("storage_key")},
+                gc.getGracePeriod().toSeconds(), gc.getBatchSize());
+
+        int removed = 0;
+        for (String[] c : candidates) {
+            try {
+                blobStore.delete(c[1]);
+            } catch (IOException e) {
+                log.warn("No se pudo borrar el blob {}: {}", c[1], e.getMessage());
+                continue; // la fila queda para el próximo ciclo
+            }
+            jdbcTemplate.update("delete from blob_object where sha256 = ?", c[0]);
+            removed++;
+        }
+        return removed;
+    }
+}
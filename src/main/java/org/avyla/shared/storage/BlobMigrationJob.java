@@ -0,0 +1,100 @@
+package org.avyla.shared.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.avyla.checklists.domain.repo.ChecklistAttachmentRepository;
+import org.avyla.shared.scheduling.LeaderElection;
+import org.avyla.vehicles.domain.repo.VehicleDocumentRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Drena el contenido heredado en columnas bytea (checklist_attachment.data, vehicle_document.data)
+ * hacia el BlobStore, por lotes pequeños y con una transacción corta por lote.
+ * Cada fila se lee de a una para no cargar el lote completo en heap.
+ */
+@Slf4j
+@Component
+public class BlobMigrationJob {
+
+    private final StorageProperties props;
+    private final BlobStore blobStore;
+    private final BlobReferences blobRefs;
+    private final ChecklistAttachmentRepository attachmentRepo;
+    private final VehicleDocumentRepository documentRepo;
+    private final TransactionTemplate tx;
+    private final LeaderElection leader;
+
+    public BlobMigrationJob(StorageProperties props,
+                            BlobStore blobStore,
+                            BlobReferences blobRefs,
+                            ChecklistAttachmentRepository attachmentRepo,
+                            VehicleDocumentRepository documentRepo,
+                            PlatformTransactionManager txManager,
+                            LeaderElection leader) {
+        this.props = props;
+        this.blobStore = blobStore;
+        this.blobRefs = blobRefs;
+        this.attachmentRepo = attachmentRepo;
+        this.documentRepo = documentRepo;
+        this.tx = new TransactionTemplate(txManager);
+        this.leader = leader;
+    }
+
+    @Scheduled(fixedDelayString = "${storage.migration.interval:PT30S}",
+               initialDelayString = "${storage.migration.interval:PT30S}")
+    public void drainLegacyBlobs() {
+        if (!props.getMigration().isEnabled() || !leader.isLeader()) return;
+
+        int batch = props.getMigration().getBatchSize();
+        int attachments = tx.execute(s -> migrateBatch(
+                attachmentRepo.lockPendingBlobIds(batch),
+                attachmentRepo::findLegacyData,
+                attachmentRepo::clearLegacyData,
+                (id, blob) -> attachmentRepo.markBlobMigrated(id, blob.key(), blob.sha256())));
+        int documents = tx.execute(s -> migrateBatch(
+                documentRepo.lockPendingBlobIds(batch),
+                documentRepo::findLegacyData,
+                documentRepo::clearLegacyData,
+                (id, blob) -> documentRepo.markBlobMigrated(id, blob.key(), blob.sha256())));
+
+        if (attachments + documents > 0) {
+            log.info("BlobMigrationJob: {} evidencias y {} documentos movidos al BlobStore", attachments, documents);
+        }
+    }
+
+    private int migrateBatch(List<UUID> ids,
+                             Function<UUID, byte[]> loader,
+                             Consumer<UUID> emptyMarker,
+                             BiConsumer<UUID, StoredBlob> marker) {
+        int migrated = 0;
+        for (UUID id : ids) {
+            byte[] data = loader.apply(id);
+            if (data == null) continue;
+            // '' heredado del DEFAULT previo a V9: sin contenido (sin blob de 0 bytes ni ETag de digest)
+            if (data.length == 0) {
+                emptyMarker.accept(id);
+                continue;
+            }
+            try {
+                var blob = blobStore.put(new ByteArrayInputStream(data));
+                blobRefs.pin(blob);
+                marker.accept(id, blob);
+                migrated++;
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo migrar el blob " + id, e);
+            }
+        }
+        return migrated;
+    }
+}
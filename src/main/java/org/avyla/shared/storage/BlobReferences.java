@@ -0,0 +1,79 @@
+package org.avyla.shared.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Registro de contenido deduplicado (tabla blob_object).
+ * El conteo de referencias lo mantienen triggers de BD al insertar/borrar filas que apuntan a un SHA-256;
+ * aquí solo se "fija" el contenido antes de referenciarlo:
+ * - bloquea la fila y renueva updated_at, de modo que la limpieza no lo borre mientras se usa;
+ * - verifica que el archivo siga en el BlobStore (pudo borrarse justo antes, si estaba sin referencias);
+ * - si la transacción hace rollback, deja la fila con ref_count = 0 para que la limpieza recoja el archivo huérfano.
+ */
+@Slf4j
+@Component
+public class BlobReferences {
+
+    private static final String PIN_SQL = """
+            insert into blob_object (sha256, storage_key, size, ref_count)
+            values (?, ?, ?, 0)
+            on conflict (sha256) do update set updated_at = now()
+            """;
+
+    private static final String ORPHAN_SQL = """
+            insert into blob_object (sha256, storage_key, size, ref_count)
+            values (?, ?, ?, 0)
+            on conflict (sha256) do nothing
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlobStore blobStore;
+    private final TransactionTemplate newTx;
+
+    public BlobReferences(JdbcTemplate jdbcTemplate, BlobStore blobStore, PlatformTransactionManager txManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.blobStore = blobStore;
+        this.newTx = new TransactionTemplate(txManager);
+        this.newTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Debe llamarse dentro de la transacción que va a insertar la fila que referencia el blob.
+     */
+    public void pin(StoredBlob blob) {
+        jdbcTemplate.update(PIN_SQL, blob.sha256(), blob.key(), blob.size());
+
+        if (!blobStore.exists(blob.key())) {
+            // La limpieza borró el contenido entre put() y pin(): el cliente debe reintentar la subida
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "El contenido no está disponible, reintente la subida");
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        markOrphan(blob);
+                    }
+                }
+            });
+        }
+    }
+
+    private void markOrphan(StoredBlob blob) {
+        try {
+            newTx.executeWithoutResult(s -> jdbcTemplate.update(ORPHAN_SQL, blob.sha256(), blob.key(), blob.size()));
+        } catch (RuntimeException e) {
+            log.warn("No se pudo registrar el blob huérfano {}: {}", blob.key(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.avyla.shared.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+
+/**
+ * Almacén de contenido binario direccionado por contenido (SHA-256).
+ * Las entidades solo guardan la key y el digest; los bytes viven fuera de PostgreSQL.
+ */
+public interface BlobStore {
+
+    /**
+     * Copia el stream al almacén calculando SHA-256 y tamaño mientras escribe.
+     * El contenido solo se vuelve visible bajo su key cuando está completo (rename atómico).
+     * Si ya existía un blob con el mismo digest, se reutiliza.
+     */
+    StoredBlob put(InputStream content) throws IOException;
+
+    InputStream open(String key) throws IOException;
+
+    /**
+     * Canal de lectura posicionable para descargas (FileChannel.transferTo / rangos).
+     */
+    FileChannel openChannel(String key) throws IOException;
+
+    long size(String key) throws IOException;
+
+    boolean exists(String key);
+
+    boolean delete(String key) throws IOException;
+}
@@ -0,0 +1,46 @@
+package org.avyla.shared.storage;
+
+import java.util.Optional;
+
+/**
+ * Rango de bytes inclusivo [start, end] de un header HTTP Range (RFC 9110, un solo rango).
+ */
+public record ByteRange(long start, long end) {
+
+    public long length() {
+        return end - start + 1;
+    }
+
+    /**
+     * Interpreta "bytes=a-b", "bytes=a-" y "bytes=-n".
+     * Devuelve vacío si no hay header o si es multi-rango/no soportado (se responde el contenido completo).
+     *
+     * @throws IllegalArgumentException si el rango es sintácticamente válido pero no satisfacible (416)
+     */
+    public static Optional<ByteRange> parse(String header, long totalLength) {
+        if (header == null || !header.startsWith("bytes=")) return Optional.empty();
+        String spec = header.substring("bytes=".length()).trim();
+        if (spec.isEmpty() || spec.contains(",")) return Optional.empty();
+
+        int dash = spec.indexOf('-');
+        if (dash < 0) return Optional.empty();
+        String first = spec.substring(0, dash).trim();
+        String last = spec.substring(dash + 1).trim();
+
+        try {
+            if (first.isEmpty()) {
+                // Sufijo: últimos n bytes
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || totalLength == 0) throw new IllegalArgumentException("Rango no satisfacible");
+                long start = Math.max(0, totalLength - suffix);
+                return Optional.of(new ByteRange(start, totalLength - 1));
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? totalLength - 1 : Math.min(Long.parseLong(last), totalLength - 1);
+            if (start >= totalLength || end < start) throw new IllegalArgumentException("Rango no satisfacible");
+            return Optional.of(new ByteRange(start, end));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package org.avyla.shared.storage;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * BlobStore sobre el filesystem local.
+ * - key = SHA-256 en hex; ruta fragmentada root/ab/cd/abcd... para no saturar un solo directorio.
+ * - Escritura en root/tmp + fsync + rename atómico: nunca se expone un archivo a medio escribir.
+ * - Mismo contenido => misma ruta: si ya existe, se descarta el temporal (deduplicación natural).
+ */
+@Slf4j
+public class LocalFileSystemBlobStore implements BlobStore {
+
+    private static final Pattern KEY = Pattern.compile("[0-9a-f]{64}");
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Path root;
+    private final Path tmpDir;
+
+    public LocalFileSystemBlobStore(Path root) throws IOException {
+        this.root = root.toAbsolutePath().normalize();
+        this.tmpDir = this.root.resolve("tmp");
+        Files.createDirectories(tmpDir);
+    }
+
+    @Override
+    public StoredBlob put(InputStream content) throws IOException {
+        MessageDigest md = sha256();
+        Path tmp = Files.createTempFile(tmpDir, "upload-", ".part");
+        long size = 0;
+        try {
+            try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                OutputStream out = Channels.newOutputStream(ch);
+                byte[] buf = new byte[BUFFER_SIZE];
+                int n;
+                while ((n = content.read(buf)) != -1) {
+                    md.update(buf, 0, n);
+                    out.write(buf, 0, n);
+                    size += n;
+                }
+                out.flush();
+                ch.force(true);
+            }
+
+            String key = HexFormat.of().formatHex(md.digest());
+            Path target = pathOf(key);
+            if (Files.exists(target)) {
+                Files.deleteIfExists(tmp);
+                return new StoredBlob(key, key, size);
+            }
+
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Otro upload con el mismo contenido ganó la carrera: el contenido es idéntico
+                Files.deleteIfExists(tmp);
+            }
+            return new StoredBlob(key, key, size);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(pathOf(key), StandardOpenOption.READ);
+    }
+
+    @Override
+    public FileChannel openChannel(String key) throws IOException {
+        return FileChannel.open(pathOf(key), StandardOpenOption.READ);
+    }
+
+    @Override
+    public long size(String key) throws IOException {
+        return Files.size(pathOf(key));
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(pathOf(key));
+    }
+
+    @Override
+    public boolean delete(String key) throws IOException {
+        return Files.deleteIfExists(pathOf(key));
+    }
+
+    Path pathOf(String key) {
+        if (key == null || !KEY.matcher(key).matches()) {
+            throw new IllegalArgumentException("Key de blob inválida: " + key);
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package org.avyla.shared.storage;
+
+/**
+ * Detección de MIME por magic numbers sobre los primeros bytes del contenido.
+ */
+public final class MimeSniffer {
+
+    /** Bytes necesarios para reconocer todos los formatos soportados. */
+    public static final int HEAD_SIZE = 8;
+
+    private MimeSniffer() {}
+
+    /**
+     * @return MIME reconocido o null si la cabecera no coincide con ningún formato soportado
+     */
+    public static String sniff(byte[] head, int length) {
+        if (length >= 3) {
+            // JPEG: FF D8 FF
+            if ((head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xD8 && (head[2] & 0xFF) == 0xFF) {
+                return "image/jpeg";
+            }
+        }
+        if (length >= 4) {
+            // PNG: 89 50 4E 47
+            if ((head[0] & 0xFF) == 0x89 && (head[1] & 0xFF) == 0x50 &&
+                    (head[2] & 0xFF) == 0x4E && (head[3] & 0xFF) == 0x47) {
+                return "image/png";
+            }
+            // PDF: 25 50 44 46 (%PDF)
+            if ((head[0] & 0xFF) == 0x25 && (head[1] & 0xFF) == 0x50 &&
+                    (head[2] & 0xFF) == 0x44 && (head[3] & 0xFF) == 0x46) {
+                return "application/pdf";
+            }
+        }
+        return null;
+    }
+}
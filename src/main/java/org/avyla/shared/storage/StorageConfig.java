@@ -0,0 +1,19 @@
+package org.avyla.shared.storage;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+public class StorageConfig {
+
+    /**
+     * Implementación por defecto: filesystem local (volumen persistente compartido si hay réplicas).
+     */
+    @Bean
+    public BlobStore blobStore(StorageProperties props) throws IOException {
+        return new LocalFileSystemBlobStore(Path.of(props.getLocal().getRoot()));
+    }
+}
@@ -0,0 +1,35 @@
+package org.avyla.shared.storage;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "storage")
+public class StorageProperties {
+    private Local local = new Local();
+    private Migration migration = new Migration();
+    private Gc gc = new Gc();
+
+    @Data
+    public static class Local {
+        // Directorio raíz del almacén (debe estar en el mismo filesystem que su carpeta tmp/)
+        private String root = "./data/blobs";
+    }
+    @Data
+    public static class Migration {
+        // Drena las columnas bytea heredadas hacia el BlobStore
+        private boolean enabled = true;
+        private int batchSize = 50;
+        private Duration interval = Duration.ofSeconds(30);
+    }
+    @Data
+    public static class Gc {
+        // Limpieza de contenido sin referencias (blob_object.ref_count = 0)
+        private boolean enabled = true;
+        private int batchSize = 100;
+        private Duration interval = Duration.ofMinutes(15);
+        private Duration gracePeriod = Duration.ofHours(1);
+    }
+}
@@ -0,0 +1,6 @@
+package org.avyla.shared.storage;
+
+/**
+ * Resultado de BlobStore.put: key de almacenamiento, digest SHA-256 (hex) y tamaño en bytes.
+ */
+public record StoredBlob(String key, String sha256, long size) {}
@@ -0,0 +1,93 @@
+package org.avyla.shared.storage;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * Pipeline de subida por streaming hacia el BlobStore, con heap constante por upload:
+ * 1) lee solo la cabecera (MimeSniffer.HEAD_SIZE bytes) y aplica la política de MIME antes de escribir nada;
+ * 2) copia el resto con buffer fijo mientras BlobStore calcula SHA-256 y tamaño;
+ * 3) corta con 413 apenas se supera el límite (el temporal se descarta, nunca queda visible).
+ */
+@Component
+@RequiredArgsConstructor
+public class StreamingUploader {
+
+    private final BlobStore blobStore;
+
+    /**
+     * @param mimePolicy recibe el MIME detectado (null si no se reconoce) y devuelve el MIME aceptado,
+     *                   o lanza la excepción que corresponda si el tipo no está permitido
+     */
+    public UploadedBlob store(MultipartFile file, long maxBytes, UnaryOperator<String> mimePolicy) {
+        if (file == null || file.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Archivo vacío");
+        }
+        // Tamaño declarado: rechazo inmediato sin leer el contenido
+        if (file.getSize() > maxBytes) {
+            throw tooLarge();
+        }
+
+        try (InputStream raw = file.getInputStream()) {
+            byte[] head = raw.readNBytes(MimeSniffer.HEAD_SIZE);
+            String mime = mimePolicy.apply(MimeSniffer.sniff(head, head.length));
+
+            var content = new LimitedInputStream(
+                    new SequenceInputStream(new ByteArrayInputStream(head), raw), maxBytes);
+            return new UploadedBlob(blobStore.put(content), mime);
+        } catch (SizeLimitExceeded e) {
+            throw tooLarge();
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "No se pudo almacenar el archivo");
+        }
+    }
+
+    private static ResponseStatusException tooLarge() {
+        return new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "Archivo excede el tamaño permitido");
+    }
+
+    /** Señal interna: el stream superó el límite a mitad de la copia. */
+    private static final class SizeLimitExceeded extends IOException {
+        SizeLimitExceeded() {
+            super("Límite de tamaño superado", null);
+        }
+    }
+
+    /**
+     * Cuenta los bytes leídos y aborta la lectura al superar el límite.
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+        private final long max;
+        private long count;
+
+        LimitedInputStream(InputStream in, long max) {
+            super(in);
+            this.max = max;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) count(1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) count(n);
+            return n;
+        }
+
+        private void count(int n) throws IOException {
+            count += n;
+            if (count > max) throw new SizeLimitExceeded();
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package org.avyla.shared.storage;
+
+/**
+ * Resultado de StreamingUploader: blob almacenado + MIME aceptado por la política del llamador.
+ */
+public record UploadedBlob(StoredBlob blob, String mimeType) {}
@@ -1,10 +1,12 @@
 package org.avyla.shared.util;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.Claim;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
@@ -22,8 +24,21 @@ public class JwtUtils {
     @Value("${security.jwt.user.generator}")
     private String userGenerator;
 
-    public String createToken(Authentication authentication) {
-        Algorithm algorithm = Algorithm.HMAC256(this.privateKey);
+    // Algorithm y JWTVerifier son inmutables y thread-safe: se construyen una sola vez
+    private Algorithm algorithm;
+    private JWTVerifier verifier;
+
+    @PostConstruct
+    void init() {
+        this.algorithm = Algorithm.HMAC256(this.privateKey);
+        this.verifier = JWT.require(this.algorithm)
+                .withIssuer(this.userGenerator)
+                .build();
+    }
+
+    public static final String USER_ID_CLAIM = "uid";
+
+    public String createToken(Authentication authentication, Long userId) {
 
         String username = authentication.getName();
         String authorities = authentication.getAuthorities()
@@ -35,11 +50,12 @@ public class JwtUtils {
                 .withIssuer(this.userGenerator)
                 .withSubject(username)
                 .withClaim("authorities", authorities)
+                .withClaim(USER_ID_CLAIM, userId)
                 .withIssuedAt(new Date())
                 .withExpiresAt(new Date(System.currentTimeMillis() + 1800000))
                 .withJWTId(UUID.randomUUID().toString())
                 .withNotBefore(new Date(System.currentTimeMillis()))
-                .sign(algorithm);
+                .sign(this.algorithm);
 
         return token;
     }
@@ -48,12 +64,7 @@ public class JwtUtils {
     {
         try
         {
-            Algorithm algorithm = Algorithm.HMAC256(this.privateKey);
-            DecodedJWT decodedJWT = JWT.require(algorithm)
-                    .withIssuer(this.userGenerator)
-                    .build()
-                    .verify(token);
-            return decodedJWT;
+            return verifier.verify(token);
         } catch (JWTVerificationException e) {
             throw new JWTVerificationException("Token invalido o expirado");
         }
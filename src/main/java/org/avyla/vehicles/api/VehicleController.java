@@ -3,6 +3,7 @@ package org.avyla.vehicles.api;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.avyla.security.application.service.CurrentUserService;
+import org.avyla.shared.pagination.CursorSliceResponse;
 import org.avyla.vehicles.api.dto.request.VehicleCreateRequest;
 import org.avyla.vehicles.api.dto.response.VehicleDetailResponse;
 import org.avyla.vehicles.api.dto.response.VehicleSummaryResponse;
@@ -26,6 +27,7 @@ import java.util.List;
  *   DELETE /api/vehicles/{id}         - Desactivar vehículo
  *   PATCH  /api/vehicles/{id}/activate - Reactivar vehículo
  *   GET    /api/vehicles              - Listar con paginación
+ *   GET    /api/vehicles/scroll       - Listar por cursor (sin total)
  *   GET    /api/vehicles?vencenEn=30  - Vehículos próximos a vencer
  */
 @RestController
@@ -108,6 +110,19 @@ public class   VehicleController {
         return vehicleService.list(pageable, includeInactive);
     }
 
+    /**
+     * Lista vehículos por cursor, sin total (páginas profundas igual de rápidas que la primera).
+     * GET /api/vehicles/scroll?cursor=...&size=20&includeInactive=false
+     */
+    @GetMapping("/scroll")
+    public CursorSliceResponse<VehicleDetailResponse> scroll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false, defaultValue = "false") Boolean includeInactive
+    ) {
+        return vehicleService.scroll(cursor, size, includeInactive);
+    }
+
     /**
      * Obtiene vehículos próximos a vencer SOAT o RTM.
      * GET /api/vehicles?vencenEn=30
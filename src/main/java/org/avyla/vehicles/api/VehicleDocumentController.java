@@ -1,19 +1,19 @@
 package org.avyla.vehicles.api;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.avyla.security.application.service.CurrentUserService;
+import org.avyla.shared.storage.BlobDownloadWriter;
 import org.avyla.vehicles.api.dto.response.DocumentMetaResponse;
 import org.avyla.vehicles.api.dto.response.DocumentUploadResponse;
 import org.avyla.vehicles.application.service.VehicleDocumentService;
-import org.avyla.vehicles.domain.entity.VehicleDocument;
 import org.avyla.vehicles.domain.enums.DocumentType;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
@@ -25,6 +25,7 @@ public class VehicleDocumentController {
 
     private final VehicleDocumentService service;
     private final CurrentUserService currentUserService;
+    private final BlobDownloadWriter downloadWriter;
 
     @PostMapping(value = "/{id}/documents", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public DocumentUploadResponse upload(
@@ -46,30 +47,14 @@ public class VehicleDocumentController {
         return service.list(vehicleId, type);
     }
 
+    // Descarga por streaming (soporta Range para reanudar PDFs grandes)
     @GetMapping("/{id}/documents/{docId}")
-    public ResponseEntity<ByteArrayResource> download(
+    public void download(
             @PathVariable("id") Long vehicleId,
-            @PathVariable("docId") UUID docId
-    ) {
-        VehicleDocument doc = service.getOrThrow(docId);
-        if (!doc.getVehicle().getVehicleId().equals(vehicleId)) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
-        }
-        ByteArrayResource body = new ByteArrayResource(doc.getData());
-
-        String fname = doc.getFilename() != null ? doc.getFilename() : (doc.getDocType()+"-"+doc.getDocumentId());
-        String cd = "attachment; filename=\"" + escapeFilename(fname) + "\""; // descarga directa
-        // Content-Disposition + Content-Type + Content-Length son headers recomendados para descargas. :contentReference[oaicite:6]{index=6}
-
-        return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(doc.getMimeType()))
-                .header(HttpHeaders.CONTENT_DISPOSITION, cd)
-                .contentLength(doc.getSize() != null ? doc.getSize() : body.contentLength())
-                .body(body);
-    }
-
-    private String escapeFilename(String name) {
-        // Fallback RFC5987 para nombres con espacios/UTF-8 si quieres ser más exhaustivo.
-        return URLEncoder.encode(name, StandardCharsets.UTF_8);
+            @PathVariable("docId") UUID docId,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        downloadWriter.write(service.getDownloadOrThrow(vehicleId, docId), request, response);
     }
 }
@@ -3,6 +3,9 @@ package org.avyla.vehicles.application.service;
 import lombok.RequiredArgsConstructor;
 import org.avyla.shared.exception.BadRequestException;
 import org.avyla.shared.exception.NotFoundException;
+import org.avyla.shared.storage.BlobDownload;
+import org.avyla.shared.storage.BlobReferences;
+import org.avyla.shared.storage.StreamingUploader;
 import org.avyla.vehicles.api.dto.response.DocumentMetaResponse;
 import org.avyla.vehicles.api.dto.response.DocumentUploadResponse;
 import org.avyla.vehicles.domain.entity.Vehicle;
@@ -15,6 +18,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
@@ -31,6 +37,8 @@ public class VehicleDocumentService {
 
     private final VehicleRepository vehicleRepo;
     private final VehicleDocumentRepository docRepo;
+    private final StreamingUploader uploader;
+    private final BlobReferences blobRefs;
 
     @Transactional
     public DocumentUploadResponse upload(Long vehicleId, DocumentType docType, // "SOAT" | "RTM"
@@ -42,9 +50,6 @@ public class VehicleDocumentService {
         if (!docType.equals(DocumentType.SOAT) && !docType.equals(DocumentType.RTM)) {
             throw new BadRequestException("docType inválido: " + docType);
         }
-        if (file.getSize() > MAX_BYTES) {
-            throw new BadRequestException("Archivo excede el límite (" + MAX_BYTES + " bytes)");
-        }
         var ct = file.getContentType();
         if (ct == null || !ALLOWED_MIME.contains(ct)) {
             throw new BadRequestException("MIME no permitido (solo PDF, JPG, PNG)");
@@ -52,14 +57,17 @@ public class VehicleDocumentService {
 
         Vehicle veh = vehicleRepo.findByIdForUpdate(vehicleId).orElseThrow(() -> new NotFoundException("Vehículo no encontrado"));
 
-        byte[] data;
-        try {
-            data = file.getBytes();
-        } catch (Exception e) {
-            throw new BadRequestException("No se pudo leer el archivo");
-        }
+        // Streaming al BlobStore: MIME real por magic numbers, límite aplicado durante la copia (413)
+        var upload = uploader.store(file, MAX_BYTES, sniffed -> {
+            if (sniffed != null && !ALLOWED_MIME.contains(sniffed)) {
+                throw new BadRequestException("MIME no permitido (solo PDF, JPG, PNG)");
+            }
+            return sniffed != null ? sniffed : ct;
+        });
+        var blob = upload.blob();
+        blobRefs.pin(blob); // mismo PDF para varios vehículos => un solo contenido referenciado
 
-        VehicleDocument doc = VehicleDocument.builder().vehicle(veh).docType(docType).issuer(issuer).issuedAt(issuedAt).expirationDate(expirationDate).filename(safeFilename(file.getOriginalFilename())).mimeType(ct).size(file.getSize()).data(data).createdByUserId(currentUserId).createdAt(Instant.now()).build();
+        VehicleDocument doc = VehicleDocument.builder().vehicle(veh).docType(docType).issuer(issuer).issuedAt(issuedAt).expirationDate(expirationDate).filename(safeFilename(file.getOriginalFilename())).mimeType(upload.mimeType()).size(blob.size()).storageKey(blob.key()).sha256(blob.sha256()).createdByUserId(currentUserId).createdAt(Instant.now()).build();
 
         doc = docRepo.save(doc);
 
@@ -73,9 +81,9 @@ public class VehicleDocumentService {
 
     @Transactional(readOnly = true)
     public List<DocumentMetaResponse> list(Long vehicleId, DocumentType docType) {
-        var docs = docRepo.findByVehicle_VehicleIdAndDocTypeOrderByCreatedAtDesc(vehicleId, docType);
+        var docs = docRepo.findListingByVehicleAndDocType(vehicleId, docType);
         return docs.stream().map(d -> DocumentMetaResponse.builder()
-                .id(d.getVehicle().getVehicleId())
+                .id(d.getVehicleId())
                 .docType(d.getDocType().name())
                 .issuer(d.getIssuer())
                 .issuedAt(d.getIssuedAt())
@@ -88,9 +96,23 @@ public class VehicleDocumentService {
         ).toList();
     }
 
+    // Solo metadatos: el contenido se escribe por streaming (BlobDownloadWriter)
     @Transactional(readOnly = true)
-    public VehicleDocument getOrThrow(UUID docId) {
-        return docRepo.findById(docId).orElseThrow(() -> new NotFoundException("Documento no encontrado"));
+    public BlobDownload getDownloadOrThrow(Long vehicleId, UUID docId) {
+        var doc = docRepo.findMetaById(docId)
+                .filter(d -> d.getVehicleId().equals(vehicleId))
+                .orElseThrow(() -> new NotFoundException("Documento no encontrado"));
+
+        String fname = doc.getFilename() != null ? doc.getFilename() : (doc.getDocType() + "-" + doc.getDocumentId());
+        String cd = "attachment; filename=\"" + URLEncoder.encode(fname, StandardCharsets.UTF_8) + "\""; // descarga directa
+
+        return new BlobDownload(
+                doc.getMimeType(),
+                doc.getStorageKey() != null ? doc.getSize() : null,
+                doc.getStorageKey(),
+                doc.getSha256() != null ? "\"" + doc.getSha256() + "\"" : null, // ETag fuerte por digest
+                cd,
+                new BlobDownload.LegacyColumn("vehicle_document", "document_id", doc.getDocumentId()));
     }
 
     private String safeFilename(String original) {
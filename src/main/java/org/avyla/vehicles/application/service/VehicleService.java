@@ -3,6 +3,8 @@ package org.avyla.vehicles.application.service;
 import lombok.RequiredArgsConstructor;
 import org.avyla.shared.exception.BadRequestException;
 import org.avyla.shared.exception.NotFoundException;
+import org.avyla.shared.pagination.CursorCodec;
+import org.avyla.shared.pagination.CursorSliceResponse;
 import org.avyla.vehicles.api.dto.request.VehicleCreateRequest;
 import org.avyla.vehicles.api.dto.response.VehicleSummaryResponse;
 import org.avyla.vehicles.api.dto.response.VehicleDetailResponse;
@@ -10,6 +12,7 @@ import org.avyla.vehicles.api.dto.request.VehicleUpdateRequest;
 import org.avyla.vehicles.domain.entity.*;
 import org.avyla.vehicles.domain.repo.*;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -241,6 +244,29 @@ public class VehicleService {
         return vehiclesPage.map(this::toDetailResponse);
     }
 
+    /**
+     * Lista vehículos por cursor (keyset sobre placa + id), sin contar el total.
+     * El costo de cada página no depende de su profundidad.
+     *
+     * @param cursor Cursor devuelto por la página anterior (null para la primera)
+     * @param size Tamaño de página (1..100, default 20)
+     * @param includeInactive Si es true, incluye vehículos inactivos
+     */
+    @Transactional(readOnly = true)
+    public CursorSliceResponse<VehicleDetailResponse> scroll(String cursor, Integer size, boolean includeInactive) {
+        var after = CursorCodec.decode(cursor);
+        int pageSize = CursorCodec.size(size);
+
+        List<Vehicle> rows = vehicleRepo.findPageAfter(
+                after != null ? after.key() : "",
+                after != null ? after.id() : 0L,
+                includeInactive,
+                PageRequest.ofSize(pageSize + 1));
+
+        return CursorSliceResponse.of(rows, pageSize, this::toDetailResponse,
+                v -> CursorCodec.encode(v.getPlate(), v.getVehicleId()));
+    }
+
     /**
      * Convierte una entidad Vehicle a VehicleDetailResponse con todos los datos expandidos.
      */
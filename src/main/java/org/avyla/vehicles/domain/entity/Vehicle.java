@@ -14,6 +14,15 @@ import java.time.LocalDate;
 @Entity
 @Table(name = "vehicle",
         uniqueConstraints = @UniqueConstraint(name = "uq_vehicle_plate", columnNames = "plate"))
+// Listados: los seis catálogos en la misma consulta (evita un select por asociación LAZY y fila)
+@NamedEntityGraph(name = Vehicle.GRAPH_CATALOGS, attributeNodes = {
+        @NamedAttributeNode("make"),
+        @NamedAttributeNode("type"),
+        @NamedAttributeNode("category"),
+        @NamedAttributeNode("fuelType"),
+        @NamedAttributeNode("status"),
+        @NamedAttributeNode("condition")
+})
 @Data
 @Getter
 @NoArgsConstructor
@@ -21,8 +30,12 @@ import java.time.LocalDate;
 @Builder
 public class Vehicle {
 
+    public static final String GRAPH_CATALOGS = "Vehicle.catalogs";
+
+    // Misma estrategia que las entidades de checklists (V16)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vehicleSeq")
+    @SequenceGenerator(name = "vehicleSeq", sequenceName = "vehicle_vehicle_id_seq", allocationSize = 50)
     @Column(name = "vehicle_id")
     private Long vehicleId;
 
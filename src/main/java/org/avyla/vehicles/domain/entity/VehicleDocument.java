@@ -2,9 +2,9 @@ package org.avyla.vehicles.domain.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.avyla.shared.id.UuidV7;
 import org.avyla.vehicles.domain.enums.DocumentType;
 import org.hibernate.annotations.JdbcTypeCode;
-import org.hibernate.annotations.UuidGenerator;
 import org.hibernate.type.SqlTypes;
 
 import java.time.Instant;
@@ -17,7 +17,7 @@ import java.util.UUID;
 public class VehicleDocument {
 
     @Id
-    @UuidGenerator
+    @UuidV7
     @Column(name = "document_id", columnDefinition = "uuid")
     private UUID documentId;
 
@@ -48,9 +48,15 @@ public class VehicleDocument {
     private Long size;
 
     @JdbcTypeCode(SqlTypes.BINARY)
-    @Basic(fetch = FetchType.LAZY) // evita traer el BLOB en listados
+    @Basic(fetch = FetchType.LAZY) // sin enhancement de bytecode no aplica: los listados usan proyecciones
     @Column(name = "data")
-    private byte[] data; // Para BLOB, @Lob es la forma estándar en JPA/Hibernate. :contentReference[oaicite:1]{index=1}
+    private byte[] data; // Contenido heredado; null una vez migrado al BlobStore (ver storageKey)
+
+    @Column(name = "storage_key", length = 128)
+    private String storageKey;
+
+    @Column(name = "sha256", length = 64)
+    private String sha256;
 
     @Column(name = "created_by_user_id")
     private Long createdByUserId;
@@ -2,13 +2,91 @@ package org.avyla.vehicles.domain.repo;
 
 import org.avyla.vehicles.domain.entity.VehicleDocument;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.avyla.vehicles.domain.enums.DocumentType;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface VehicleDocumentRepository extends JpaRepository<VehicleDocument, UUID> {
 
-    List<VehicleDocument> findByVehicle_VehicleIdAndDocTypeOrderByCreatedAtDesc(Long vehicleId, DocumentType docType);
+    // Listado solo con metadatos: sin enhancement de bytecode el LAZY de data se ignora y cargar la entidad trae el PDF completo
+    @Query("""
+           select d.documentId as documentId, d.vehicle.vehicleId as vehicleId, d.docType as docType,
+                  d.issuer as issuer, d.issuedAt as issuedAt, d.expirationDate as expirationDate,
+                  d.filename as filename, d.mimeType as mimeType, d.size as size, d.createdAt as createdAt
+           from VehicleDocument d
+           where d.vehicle.vehicleId = :vehicleId and d.docType = :docType
+           order by d.createdAt desc
+           """)
+    List<DocumentListingView> findListingByVehicleAndDocType(@Param("vehicleId") Long vehicleId,
+                                                             @Param("docType") DocumentType docType);
 
+    // Metadatos para descargar sin traer la columna data
+    @Query("""
+           select d.documentId as documentId, d.vehicle.vehicleId as vehicleId, d.docType as docType,
+                  d.filename as filename, d.mimeType as mimeType, d.size as size,
+                  d.storageKey as storageKey, d.sha256 as sha256
+           from VehicleDocument d
+           where d.documentId = :id
+           """)
+    Optional<DocumentMetaView> findMetaById(@Param("id") UUID id);
+
+    // ===== Migración bytea -> BlobStore (BlobMigrationJob) =====
+
+    @Query(value = """
+           select d.document_id from vehicle_document d
+           where d.storage_key is null and d.data is not null
+           order by d.document_id
+           limit :limit
+           for update skip locked
+           """, nativeQuery = true)
+    List<UUID> lockPendingBlobIds(@Param("limit") int limit);
+
+    @Query(value = "select d.data from vehicle_document d where d.document_id = :id", nativeQuery = true)
+    byte[] findLegacyData(@Param("id") UUID id);
+
+    // data vacío heredado (DEFAULT '' anterior a V9): sin contenido, no se crea un blob de 0 bytes
+    @Modifying
+    @Query("update VehicleDocument d set d.data = null where d.documentId = :id")
+    int clearLegacyData(@Param("id") UUID id);
+
+    @Modifying
+    @Query("""
+           update VehicleDocument d
+           set d.storageKey = :storageKey, d.sha256 = :sha256, d.data = null
+           where d.documentId = :id
+           """)
+    int markBlobMigrated(@Param("id") UUID id,
+                         @Param("storageKey") String storageKey,
+                         @Param("sha256") String sha256);
+
+    interface DocumentListingView {
+        UUID getDocumentId();
+        Long getVehicleId();
+        DocumentType getDocType();
+        String getIssuer();
+        LocalDate getIssuedAt();
+        LocalDate getExpirationDate();
+        String getFilename();
+        String getMimeType();
+        Long getSize();
+        Instant getCreatedAt();
+    }
+
+    interface DocumentMetaView {
+        UUID getDocumentId();
+        Long getVehicleId();
+        DocumentType getDocType();
+        String getFilename();
+        String getMimeType();
+        Long getSize();
+        String getStorageKey();
+        String getSha256();
+    }
 }
@@ -20,6 +20,7 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
     @Query("select v from Vehicle v where v.vehicleId = :id")
     Optional<Vehicle> findByIdForUpdate(@Param("id") Long id);
 
+    @EntityGraph(Vehicle.GRAPH_CATALOGS)
     @Query("""
             SELECT v FROM Vehicle v
             WHERE
@@ -30,6 +31,25 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
 
     Optional<Vehicle> findByPlate(String plate);
 
+    // Listados paginados: una consulta con joins a los catálogos (+ el count de la página)
+    @EntityGraph(Vehicle.GRAPH_CATALOGS)
     Page<Vehicle> findByActive(boolean active, Pageable pageable);
 
+    @Override
+    @EntityGraph(Vehicle.GRAPH_CATALOGS)
+    Page<Vehicle> findAll(Pageable pageable);
+
+    // Keyset sobre (plate, vehicle_id): primera página con afterPlate = "" y afterId = 0; sin count
+    @EntityGraph(Vehicle.GRAPH_CATALOGS)
+    @Query("""
+            SELECT v FROM Vehicle v
+            WHERE (:includeInactive = true OR v.active = true)
+              AND (v.plate, v.vehicleId) > (:afterPlate, :afterId)
+            ORDER BY v.plate, v.vehicleId
+            """)
+    List<Vehicle> findPageAfter(@Param("afterPlate") String afterPlate,
+                                @Param("afterId") long afterId,
+                                @Param("includeInactive") boolean includeInactive,
+                                Pageable limit);
+
 }
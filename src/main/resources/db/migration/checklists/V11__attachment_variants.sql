@@ -0,0 +1,72 @@
+-- ============================================================================
+--  V11: Variantes reducidas de evidencias fotográficas (miniatura / vista previa)
+--  - thumb_key / preview_key: JPEG generados en segundo plano, guardados en el BlobStore
+--  - variant_status: NULL = pendiente, READY = generadas, NONE = no aplica (PDF, imagen ilegible)
+--  - Las variantes también cuentan referencias en blob_object (V10)
+-- ============================================================================
+
+ALTER TABLE checklist_attachment
+  ADD COLUMN IF NOT EXISTS thumb_key      VARCHAR(128),
+  ADD COLUMN IF NOT EXISTS preview_key    VARCHAR(128),
+  ADD COLUMN IF NOT EXISTS variant_status VARCHAR(16);
+
+-- Lo que no es imagen no tendrá variantes
+UPDATE checklist_attachment SET variant_status = 'NONE' WHERE type NOT LIKE 'image/%';
+
+-- Pendientes de generar (backfill por lotes)
+CREATE INDEX IF NOT EXISTS idx_attachment_variant_pending
+  ON checklist_attachment (created_at) WHERE variant_status IS NULL AND storage_key IS NOT NULL;
+
+COMMENT ON COLUMN checklist_attachment.thumb_key      IS 'Key (SHA-256) de la miniatura JPEG (lado mayor 256 px)';
+COMMENT ON COLUMN checklist_attachment.preview_key    IS 'Key (SHA-256) de la vista previa JPEG (lado mayor 1280 px)';
+COMMENT ON COLUMN checklist_attachment.variant_status IS 'NULL = pendiente, READY = variantes generadas, NONE = no aplica';
+
+-- Ajuste genérico de ref_count (las variantes no tienen columna size propia)
+CREATE OR REPLACE FUNCTION fn_blob_object_adjust(p_sha256 VARCHAR, p_delta INTEGER)
+RETURNS VOID AS $$
+BEGIN
+  IF p_sha256 IS NULL THEN
+    RETURN;
+  END IF;
+  IF p_delta > 0 THEN
+    INSERT INTO blob_object (sha256, storage_key, ref_count)
+    VALUES (p_sha256, p_sha256, p_delta)
+    ON CONFLICT (sha256) DO UPDATE
+      SET ref_count = blob_object.ref_count + p_delta, updated_at = now();
+  ELSE
+    UPDATE blob_object
+       SET ref_count = GREATEST(ref_count + p_delta, 0), updated_at = now()
+     WHERE sha256 = p_sha256;
+  END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION fn_attachment_variant_refcount()
+RETURNS TRIGGER AS $$
+BEGIN
+  IF TG_OP = 'DELETE' THEN
+    PERFORM fn_blob_object_adjust(OLD.thumb_key, -1);
+    PERFORM fn_blob_object_adjust(OLD.preview_key, -1);
+    RETURN NULL;
+  END IF;
+
+  IF OLD.thumb_key IS DISTINCT FROM NEW.thumb_key THEN
+    PERFORM fn_blob_object_adjust(OLD.thumb_key, -1);
+    PERFORM fn_blob_object_adjust(NEW.thumb_key, 1);
+  END IF;
+  IF OLD.preview_key IS DISTINCT FROM NEW.preview_key THEN
+    PERFORM fn_blob_object_adjust(OLD.preview_key, -1);
+    PERFORM fn_blob_object_adjust(NEW.preview_key, 1);
+  END IF;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_attachment_variant_refcount ON checklist_attachment;
+CREATE TRIGGER trg_attachment_variant_refcount
+AFTER DELETE OR UPDATE OF thumb_key, preview_key ON checklist_attachment
+FOR EACH ROW
+EXECUTE PROCEDURE fn_attachment_variant_refcount();
+
+COMMENT ON FUNCTION fn_blob_object_adjust IS 'Suma p_delta al ref_count del SHA-256 indicado (crea la fila si hace falta).';
+COMMENT ON TRIGGER trg_attachment_variant_refcount ON checklist_attachment IS 'Mantiene blob_object.ref_count para miniaturas y vistas previas.';
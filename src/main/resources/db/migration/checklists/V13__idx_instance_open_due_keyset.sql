@@ -0,0 +1,8 @@
+-- ============================================================================
+--  V13: Expiración por bloques con paginación keyset (due_at, instance_id)
+--  Índice parcial: solo instancias abiertas (las que la expiración recorre); se vacía al expirarlas
+-- ============================================================================
+
+CREATE INDEX IF NOT EXISTS idx_checklist_instance_open_due_keyset
+  ON checklist_instance (due_at, instance_id)
+  WHERE status IN ('PENDING', 'IN_PROGRESS');
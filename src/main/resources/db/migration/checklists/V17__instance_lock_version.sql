@@ -0,0 +1,7 @@
+-- ============================================================================
+--  V17: Control optimista de concurrencia en checklist_instance (@Version)
+--  Reemplaza el SELECT ... FOR UPDATE que mantenía la fila bloqueada durante todo saveResponses/submit
+-- ============================================================================
+
+ALTER TABLE checklist_instance
+  ADD COLUMN IF NOT EXISTS lock_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,74 @@
+-- ============================================================================
+--  V10: Deduplicación por contenido (SHA-256) con conteo de referencias
+--  - blob_object: una fila por contenido distinto en el BlobStore
+--  - ref_count lo mantienen triggers sobre checklist_attachment / vehicle_document,
+--    así también cuentan los borrados en cascada y los DELETE masivos
+--  - ref_count = 0 => candidato a limpieza (BlobGarbageCollector, tras un periodo de gracia)
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS blob_object (
+  sha256      VARCHAR(64)  PRIMARY KEY,
+  storage_key VARCHAR(128) NOT NULL,
+  size        BIGINT       NOT NULL DEFAULT 0,
+  ref_count   INTEGER      NOT NULL DEFAULT 0 CHECK (ref_count >= 0),
+  created_at  TIMESTAMPTZ  NOT NULL DEFAULT now(),
+  updated_at  TIMESTAMPTZ  NOT NULL DEFAULT now()
+);
+
+COMMENT ON TABLE  blob_object           IS 'Contenido único del BlobStore (direccionado por SHA-256) con conteo de referencias.';
+COMMENT ON COLUMN blob_object.ref_count IS 'Filas de checklist_attachment/vehicle_document que apuntan a este contenido.';
+COMMENT ON COLUMN blob_object.updated_at IS 'Último cambio de ref_count; la limpieza espera un periodo de gracia desde aquí.';
+
+-- Candidatos a limpieza (índice parcial: solo contenido sin referencias)
+CREATE INDEX IF NOT EXISTS idx_blob_object_unreferenced
+  ON blob_object (updated_at) WHERE ref_count = 0;
+
+-- Backfill con lo ya migrado al BlobStore (V9)
+INSERT INTO blob_object (sha256, storage_key, size, ref_count)
+SELECT sha256, MAX(storage_key), COALESCE(MAX(size), 0), COUNT(*)
+FROM (
+  SELECT sha256, storage_key, size FROM checklist_attachment WHERE sha256 IS NOT NULL
+  UNION ALL
+  SELECT sha256, storage_key, size FROM vehicle_document     WHERE sha256 IS NOT NULL
+) refs
+GROUP BY sha256
+ON CONFLICT (sha256) DO NOTHING;
+
+-- Mantiene ref_count al insertar, borrar o re-apuntar (p. ej. migración desde bytea) una fila
+CREATE OR REPLACE FUNCTION fn_blob_object_refcount()
+RETURNS TRIGGER AS $$
+BEGIN
+  IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.sha256 IS NOT NULL
+     AND (TG_OP = 'DELETE' OR OLD.sha256 IS DISTINCT FROM NEW.sha256) THEN
+    UPDATE blob_object
+       SET ref_count = GREATEST(ref_count - 1, 0), updated_at = now()
+     WHERE sha256 = OLD.sha256;
+  END IF;
+
+  IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.sha256 IS NOT NULL
+     AND (TG_OP = 'INSERT' OR OLD.sha256 IS DISTINCT FROM NEW.sha256) THEN
+    INSERT INTO blob_object (sha256, storage_key, size, ref_count)
+    VALUES (NEW.sha256, COALESCE(NEW.storage_key, NEW.sha256), COALESCE(NEW.size, 0), 1)
+    ON CONFLICT (sha256) DO UPDATE
+      SET ref_count = blob_object.ref_count + 1, updated_at = now();
+  END IF;
+
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_attachment_blob_refcount ON checklist_attachment;
+CREATE TRIGGER trg_attachment_blob_refcount
+AFTER INSERT OR DELETE OR UPDATE OF sha256 ON checklist_attachment
+FOR EACH ROW
+EXECUTE PROCEDURE fn_blob_object_refcount();
+
+DROP TRIGGER IF EXISTS trg_vehicle_document_blob_refcount ON vehicle_document;
+CREATE TRIGGER trg_vehicle_document_blob_refcount
+AFTER INSERT OR DELETE OR UPDATE OF sha256 ON vehicle_document
+FOR EACH ROW
+EXECUTE PROCEDURE fn_blob_object_refcount();
+
+COMMENT ON FUNCTION fn_blob_object_refcount IS 'Incrementa/decrementa blob_object.ref_count según las filas que referencian cada SHA-256.';
+COMMENT ON TRIGGER trg_attachment_blob_refcount ON checklist_attachment IS 'Mantiene blob_object.ref_count para evidencias.';
+COMMENT ON TRIGGER trg_vehicle_document_blob_refcount ON vehicle_document IS 'Mantiene blob_object.ref_count para documentos de vehículo.';
@@ -0,0 +1,18 @@
+-- ============================================================================
+--  V12: Elección de líder para jobs programados (varias réplicas)
+--  - Una fila por lease; la renueva su dueño (heartbeat) antes de lease_until
+--  - Si el dueño cae, cualquier otro nodo la toma al vencer lease_until (hora de la BD, sin desfase de relojes)
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS scheduler_lease (
+  name        VARCHAR(64)  PRIMARY KEY,
+  owner       VARCHAR(128) NOT NULL,
+  lease_until TIMESTAMPTZ  NOT NULL,
+  acquired_at TIMESTAMPTZ  NOT NULL DEFAULT now(),
+  renewed_at  TIMESTAMPTZ  NOT NULL DEFAULT now()
+);
+
+COMMENT ON TABLE  scheduler_lease             IS 'Leases de jobs programados: solo el dueño vigente ejecuta los jobs de cluster.';
+COMMENT ON COLUMN scheduler_lease.owner       IS 'Nodo que tiene el lease (host + id de proceso).';
+COMMENT ON COLUMN scheduler_lease.lease_until IS 'Vencimiento; pasado este instante otro nodo puede tomarlo.';
+COMMENT ON COLUMN scheduler_lease.acquired_at IS 'Desde cuándo el dueño actual tiene el lease.';
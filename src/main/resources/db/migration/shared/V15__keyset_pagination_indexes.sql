@@ -0,0 +1,17 @@
+-- ============================================================================
+--  V15: Índices para paginación por cursor (keyset)
+--  - Cada página es un index scan desde la posición del cursor: sin OFFSET ni count(*)
+-- ============================================================================
+
+-- GET /api/vehicles/scroll: (plate, vehicle_id) ascendente
+CREATE INDEX IF NOT EXISTS idx_vehicle_plate_keyset
+  ON vehicle (plate, vehicle_id);
+
+-- GET /api/users/scroll: (username, user_id) ascendente, solo no eliminados
+CREATE INDEX IF NOT EXISTS idx_users_username_keyset
+  ON users (username, user_id)
+  WHERE deleted_at IS NULL;
+
+-- GET /api/checklists/instances/scroll: (started_at, instance_id) descendente (scan hacia atrás)
+CREATE INDEX IF NOT EXISTS idx_checklist_instance_started_keyset
+  ON checklist_instance (started_at, instance_id);
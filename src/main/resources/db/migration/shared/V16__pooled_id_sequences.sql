@@ -0,0 +1,32 @@
+-- ============================================================================
+--  V16: Secuencias en bloques de 50 para ids generados por Hibernate (optimizador pooled)
+--  - Con IDENTITY Hibernate inserta fila por fila para conocer el id; con secuencia agrupa los INSERT en lotes JDBC
+--  - pooled: cada nextval reserva el bloque (valor - 49 .. valor) para un nodo
+--  - setval al id máximo actual: el siguiente bloque empieza justo después de lo ya insertado
+--  - El DEFAULT nextval(...) de las columnas BIGSERIAL se conserva (inserts por SQL siguen funcionando)
+-- ============================================================================
+
+DO $$
+DECLARE
+  t RECORD;
+  seq TEXT;
+  max_id BIGINT;
+BEGIN
+  FOR t IN SELECT * FROM (VALUES
+      ('checklist_instance',  'instance_id'),
+      ('checklist_response',  'response_id'),
+      ('checklist_version',   'version_id'),
+      ('checklist_signature', 'signature_id'),
+      ('vehicle',             'vehicle_id')
+  ) AS v(tbl, col)
+  LOOP
+    seq := pg_get_serial_sequence(t.tbl, t.col);
+    IF seq IS NULL THEN
+      RAISE EXCEPTION 'No hay secuencia para %.%', t.tbl, t.col;
+    END IF;
+
+    EXECUTE format('ALTER SEQUENCE %s INCREMENT BY 50', seq);
+    EXECUTE format('SELECT COALESCE(MAX(%I), 0) FROM %I', t.col, t.tbl) INTO max_id;
+    PERFORM setval(seq, GREATEST(max_id, 1), true);
+  END LOOP;
+END $$;
@@ -0,0 +1,19 @@
+-- ============================================================================
+--  V18: data vacío heredado (DEFAULT '' anterior a V9) = sin contenido
+--  - Pendientes: data pasa a NULL, BlobMigrationJob ya no las toma
+--  - Ya migradas como blob de 0 bytes: se desvinculan del BlobStore; el trigger de V10 baja
+--    ref_count y BlobGarbageCollector elimina el objeto vacío tras el periodo de gracia
+-- ============================================================================
+
+UPDATE checklist_attachment SET data = NULL
+ WHERE storage_key IS NULL AND data IS NOT NULL AND octet_length(data) = 0;
+
+UPDATE vehicle_document SET data = NULL
+ WHERE storage_key IS NULL AND data IS NOT NULL AND octet_length(data) = 0;
+
+-- SHA-256 del contenido vacío
+UPDATE checklist_attachment SET storage_key = NULL, sha256 = NULL
+ WHERE sha256 = 'e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855';
+
+UPDATE vehicle_document SET storage_key = NULL, sha256 = NULL
+ WHERE sha256 = 'e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855';
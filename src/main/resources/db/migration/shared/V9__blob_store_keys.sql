@@ -0,0 +1,28 @@
+-- ============================================================================
+--  V9: Contenido binario fuera de PostgreSQL (BlobStore direccionado por SHA-256)
+--  - checklist_attachment / vehicle_document guardan key + digest
+--  - data (bytea) queda como legado: se drena por lotes (BlobMigrationJob) y se deja en NULL
+-- ============================================================================
+
+ALTER TABLE checklist_attachment
+  ALTER COLUMN data DROP NOT NULL,
+  ALTER COLUMN data DROP DEFAULT,
+  ADD COLUMN IF NOT EXISTS storage_key VARCHAR(128),
+  ADD COLUMN IF NOT EXISTS sha256      VARCHAR(64);
+
+ALTER TABLE vehicle_document
+  ADD COLUMN IF NOT EXISTS storage_key VARCHAR(128),
+  ADD COLUMN IF NOT EXISTS sha256      VARCHAR(64);
+
+-- Filas pendientes de migrar (índices parciales: se vacían a medida que avanza el job)
+CREATE INDEX IF NOT EXISTS idx_attachment_blob_pending
+  ON checklist_attachment (id) WHERE storage_key IS NULL AND data IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_vehicle_document_blob_pending
+  ON vehicle_document (document_id) WHERE storage_key IS NULL AND data IS NOT NULL;
+
+COMMENT ON COLUMN checklist_attachment.storage_key IS 'Key del contenido en el BlobStore (NULL = aún en columna data)';
+COMMENT ON COLUMN checklist_attachment.sha256      IS 'Digest SHA-256 (hex) del contenido';
+COMMENT ON COLUMN checklist_attachment.data        IS 'Contenido binario heredado; NULL una vez migrado al BlobStore';
+COMMENT ON COLUMN vehicle_document.storage_key     IS 'Key del contenido en el BlobStore (NULL = aún en columna data)';
+COMMENT ON COLUMN vehicle_document.sha256          IS 'Digest SHA-256 (hex) del contenido';
+COMMENT ON COLUMN vehicle_document.data            IS 'Contenido binario heredado; NULL una vez migrado al BlobStore';
@@ -0,0 +1,30 @@
+-- ============================================================================
+--  V14: Refresh tokens (sesión deslizante sin volver a verificar la contraseña)
+--  - Token opaco; solo se guarda su SHA-256 (hex) y se valida por búsqueda indexada
+--  - Rotación: cada uso emite un token nuevo de la misma familia y marca el anterior como rotado
+--  - Reutilizar un token ya rotado revoca toda la familia (token robado)
+-- ============================================================================
+
+CREATE TABLE IF NOT EXISTS refresh_token (
+  token_id           BIGSERIAL    PRIMARY KEY,
+  token_hash         CHAR(64)     NOT NULL UNIQUE,
+  family_id          UUID         NOT NULL,
+  user_id            BIGINT       NOT NULL REFERENCES users(user_id) ON DELETE CASCADE,
+  created_at         TIMESTAMPTZ  NOT NULL DEFAULT now(),
+  expires_at         TIMESTAMPTZ  NOT NULL,
+  family_expires_at  TIMESTAMPTZ  NOT NULL,
+  rotated_at         TIMESTAMPTZ,
+  revoked_at         TIMESTAMPTZ
+);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_token_family  ON refresh_token (family_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_token_user    ON refresh_token (user_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_token_expires ON refresh_token (expires_at);
+
+COMMENT ON TABLE  refresh_token                   IS 'Refresh tokens opacos (hash SHA-256) con rotación por familia.';
+COMMENT ON COLUMN refresh_token.token_hash        IS 'SHA-256 hex del token entregado al cliente; el token en claro nunca se guarda.';
+COMMENT ON COLUMN refresh_token.family_id         IS 'Sesión de origen (login); todas las rotaciones comparten familia.';
+COMMENT ON COLUMN refresh_token.expires_at        IS 'Vencimiento deslizante: cada rotación lo extiende (sin pasar family_expires_at).';
+COMMENT ON COLUMN refresh_token.family_expires_at IS 'Vida máxima de la sesión desde el login.';
+COMMENT ON COLUMN refresh_token.rotated_at        IS 'Cuándo se usó y reemplazó; volver a presentarlo revoca la familia.';
+COMMENT ON COLUMN refresh_token.revoked_at        IS 'Revocado (logout, cambio de contraseña, reutilización detectada).';
@@ -0,0 +1,78 @@
+package org.avyla.checklists.application.service;
+
+import org.avyla.checklists.config.ChecklistProperties;
+import org.avyla.checklists.domain.repo.ChecklistInstanceRepository;
+import org.avyla.checklists.domain.repo.ChecklistInstanceRepository.DueTimerView;
+import org.avyla.shared.scheduling.LeaderElection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ChecklistExpiryScheduler - Tests Unitarios")
+class ChecklistExpirySchedulerTest {
+
+    @Mock private ChecklistInstanceRepository instanceRepo;
+    @Mock private InstanceExpiryWriter writer;
+    @Mock private LeaderElection leader;
+
+    private ChecklistExpiryScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new ChecklistExpiryScheduler(instanceRepo, writer, new ChecklistProperties(), leader);
+        lenient().when(writer.lastSweep()).thenReturn(new InstanceExpiryWriter.SweepResult(0, 0, 0, null));
+    }
+
+    private static DueTimerView timer(long id, Instant dueAt) {
+        return new DueTimerView() {
+            public Long getId() { return id; }
+            public Instant getDueAt() { return dueAt; }
+        };
+    }
+
+    @Test
+    @DisplayName("Un seguidor no debe acumular temporizadores en su rueda")
+    void followerShouldNotSchedule() {
+        when(leader.isLeader()).thenReturn(false);
+        var later = Instant.now().plusSeconds(3600);
+
+        scheduler.schedule(1L, later);
+        scheduler.scheduleAfterCommit(2L, later);
+        scheduler.tick();
+
+        assertThat(scheduler.stats().scheduled()).isZero();
+        verifyNoInteractions(instanceRepo);
+    }
+
+    @Test
+    @DisplayName("Debe sembrar desde BD al asumir el liderazgo y vaciar la rueda al perderlo")
+    void shouldReseedOnLeadershipTransitions() {
+        var later = Instant.now().plusSeconds(3600);
+        when(instanceRepo.findOpenDueTimers(anyList())).thenReturn(List.of(timer(1L, later), timer(2L, later)));
+
+        when(leader.isLeader()).thenReturn(true);
+        scheduler.tick();
+        scheduler.schedule(3L, later);
+        assertThat(scheduler.stats().scheduled()).isEqualTo(3);
+
+        when(leader.isLeader()).thenReturn(false);
+        scheduler.tick();
+        assertThat(scheduler.stats().scheduled()).isZero();
+
+        when(leader.isLeader()).thenReturn(true);
+        scheduler.tick();
+        assertThat(scheduler.stats().scheduled()).isEqualTo(2);
+        verify(instanceRepo, times(2)).findOpenDueTimers(anyList());
+    }
+}
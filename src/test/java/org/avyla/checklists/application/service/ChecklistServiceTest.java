@@ -0,0 +1,105 @@
+package org.avyla.checklists.application.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.avyla.checklists.api.dto.request.PatchResponsesRequest;
+import org.avyla.checklists.config.ChecklistProperties;
+import org.avyla.checklists.domain.entity.ChecklistInstance;
+import org.avyla.checklists.domain.entity.ChecklistVersion;
+import org.avyla.checklists.domain.repo.*;
+import org.avyla.security.application.service.CurrentUserService;
+import org.avyla.vehicles.domain.entity.Vehicle;
+import org.avyla.vehicles.domain.repo.VehicleConditionRepository;
+import org.avyla.vehicles.domain.repo.VehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios del guardado delta (patchResponses).
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ChecklistService - Guardado delta")
+class ChecklistServiceTest {
+
+    @Mock private ChecklistProperties props;
+    @Mock private ChecklistVersionRepository versionRepo;
+    @Mock private ChecklistItemRepository itemRepo;
+    @Mock private ChecklistInstanceRepository instanceRepo;
+    @Mock private ChecklistResponseRepository responseRepo;
+    @Mock private ChecklistAttachmentRepository attachmentRepo;
+    @Mock private OptionCatalogService catalog;
+    @Mock private VehicleRepository vehicleRepo;
+    @Mock private VehicleConditionRepository vehicleConditionRepo;
+    @Mock private CurrentUserService currentUserService;
+    @Mock private ChecklistExpiryScheduler expiryScheduler;
+    @Mock private EntityManager em;
+
+    @InjectMocks
+    private ChecklistService service;
+
+    private ChecklistInstance inst;
+
+    @BeforeEach
+    void setUp() {
+        var version = new ChecklistVersion();
+        version.setId(1L);
+
+        inst = new ChecklistInstance();
+        inst.setId(10L);
+        inst.setVersion(version);
+        inst.setVehicleId(7L);
+        inst.setOdometer(100);
+        inst.setLockVersion(3L);
+        inst.setDueAt(Instant.now().plus(1, ChronoUnit.HOURS));
+
+        when(instanceRepo.findById(10L)).thenReturn(Optional.of(inst));
+        when(itemRepo.findByVersion_IdOrderBySection_OrderIndexAscOrderIndexAsc(1L)).thenReturn(List.of());
+        when(catalog.estadoIdsByEnum()).thenReturn(Map.of());
+        when(responseRepo.findWithOptionsByInstanceId(10L)).thenReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("Solo odómetro: no cuenta como ítem aplicado e incrementa la revisión una sola vez")
+    void odometerOnlyPatchShouldNotCountAsItem() {
+        when(vehicleRepo.findById(7L)).thenReturn(Optional.of(Vehicle.builder().currentOdometer(50).build()));
+        // El flush ejecuta el UPDATE de @Version de la instancia modificada: lock_version + 1
+        doAnswer(inv -> { inst.setLockVersion(inst.getLockVersion() + 1); return null; }).when(em).flush();
+
+        var result = service.patchResponses(10L, new PatchResponsesRequest(3L, 120, null, List.of()));
+
+        assertThat(result.applied()).isZero();
+        assertThat(result.unchanged()).isZero();
+        assertThat(result.revision()).isEqualTo(4L);
+        assertThat(inst.getOdometer()).isEqualTo(120);
+        // Instancia ya modificada: sin incremento forzado adicional
+        verify(em, times(1)).flush();
+        verify(em, never()).lock(any(), any(LockModeType.class));
+    }
+
+    @Test
+    @DisplayName("Sin cambios: no toma lock ni incrementa la revisión")
+    void noOpPatchShouldNotBumpRevision() {
+        var result = service.patchResponses(10L, new PatchResponsesRequest(3L, 100, null, List.of()));
+
+        assertThat(result.revision()).isEqualTo(3L);
+        assertThat(result.applied()).isZero();
+        verify(em, never()).lock(any(), any());
+        verify(em, never()).flush();
+        verify(instanceRepo, never()).save(any());
+    }
+}
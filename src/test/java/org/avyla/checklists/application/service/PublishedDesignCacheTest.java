@@ -0,0 +1,48 @@
+package org.avyla.checklists.application.service;
+
+import org.avyla.checklists.config.ChecklistProperties;
+import org.avyla.checklists.domain.event.ChecklistVersionChangedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("PublishedDesignCache - Tests Unitarios")
+class PublishedDesignCacheTest {
+
+    private final PublishedDesignCache cache = new PublishedDesignCache(new ChecklistProperties());
+
+    private static PublishedDesignCache.Entry entry(long versionId) {
+        return new PublishedDesignCache.Entry("PRE_OP", versionId, "\"v" + versionId + "\"", 0L,
+                new byte[0], Instant.now().plusSeconds(300));
+    }
+
+    @Test
+    @DisplayName("Debe cachear la carga y no volver a la BD mientras no venza")
+    void shouldCacheLoadedEntry() {
+        var loads = new AtomicInteger();
+
+        cache.get("PRE_OP", code -> { loads.incrementAndGet(); return entry(1L); });
+        var second = cache.get("PRE_OP", code -> { loads.incrementAndGet(); return entry(2L); });
+
+        assertThat(second.versionId()).isEqualTo(1L);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("No debe guardar una carga atravesada por una invalidación")
+    void shouldNotStoreLoadInvalidatedMidway() {
+        var stale = cache.get("PRE_OP", code -> {
+            // Publicación confirmada mientras se leía la versión anterior
+            cache.onVersionChanged(new ChecklistVersionChangedEvent(1L, "PUBLISHED"));
+            return entry(1L);
+        });
+        var fresh = cache.get("PRE_OP", code -> entry(2L));
+
+        assertThat(stale.versionId()).isEqualTo(1L);
+        assertThat(fresh.versionId()).isEqualTo(2L);
+    }
+}
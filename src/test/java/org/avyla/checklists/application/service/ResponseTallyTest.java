@@ -0,0 +1,47 @@
+package org.avyla.checklists.application.service;
+
+import org.avyla.checklists.domain.enums.ResponseState;
+import org.avyla.checklists.domain.enums.SeverityOptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ResponseTally - Tests Unitarios")
+class ResponseTallyTest {
+
+    @Test
+    @DisplayName("Debe contar estados y críticos en NOOP en una sola pasada")
+    void shouldCountInSinglePass() {
+        var tally = new ResponseTally();
+        tally.add(ResponseState.OK, SeverityOptions.CRITICAL);
+        tally.add(ResponseState.OBS, SeverityOptions.LOW);
+        tally.add(ResponseState.NOOP, SeverityOptions.CRITICAL);
+        tally.add(ResponseState.NOOP, SeverityOptions.from("Medium"));
+        tally.add(ResponseState.NA, null);
+
+        assertThat(tally.total()).isEqualTo(5);
+        assertThat(tally.ok()).isEqualTo(1);
+        assertThat(tally.obs()).isEqualTo(1);
+        assertThat(tally.noop()).isEqualTo(2);
+        assertThat(tally.criticalNoop()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Debe derivar condición: NO_APTO solo con crítico en NOOP")
+    void shouldDeriveConditionGeneral() {
+        var restricted = new ResponseTally();
+        restricted.add(ResponseState.NOOP, SeverityOptions.HIGH);
+        assertThat(restricted.conditionGeneral()).isEqualTo("APTO_RESTRICCIONES");
+        assertThat(restricted.overall()).isEqualTo("NO_APTO");
+
+        var blocked = new ResponseTally();
+        blocked.add(ResponseState.NOOP, SeverityOptions.from("Critical"));
+        assertThat(blocked.conditionGeneral()).isEqualTo("NO_APTO");
+
+        var fit = new ResponseTally();
+        fit.add(ResponseState.OK, SeverityOptions.CRITICAL);
+        assertThat(fit.conditionGeneral()).isEqualTo("APTO");
+        assertThat(fit.overall()).isEqualTo("APTO");
+    }
+}
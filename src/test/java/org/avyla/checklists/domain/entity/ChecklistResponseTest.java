@@ -0,0 +1,49 @@
+package org.avyla.checklists.domain.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ChecklistResponse - Tests Unitarios")
+class ChecklistResponseTest {
+
+    private static OptionItem option(long id) {
+        var o = new OptionItem();
+        o.setId(id);
+        return o;
+    }
+
+    private static ChecklistResponse response(long stateId, String comment, long... detailIds) {
+        var r = new ChecklistResponse();
+        r.setSelectedOption(option(stateId));
+        r.setComment(comment);
+        var details = new ArrayList<OptionItem>();
+        for (long id : detailIds) details.add(option(id));
+        r.replaceOptions(details);
+        return r;
+    }
+
+    @Test
+    @DisplayName("Debe detectar respuesta sin cambios aunque los detalles lleguen en otro orden")
+    void shouldDetectSameAnswer() {
+        var r = response(2L, "Rayón leve", 10L, 11L);
+
+        assertThat(r.hasSameAnswer(2L, "Rayón leve", List.of(11L, 10L))).isTrue();
+        assertThat(response(1L, null).hasSameAnswer(1L, null, List.of())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Debe detectar cambio de estado, comentario o detalles")
+    void shouldDetectChanges() {
+        var r = response(2L, "Rayón leve", 10L, 11L);
+
+        assertThat(r.hasSameAnswer(3L, "Rayón leve", List.of(10L, 11L))).isFalse();
+        assertThat(r.hasSameAnswer(2L, "Rayón profundo", List.of(10L, 11L))).isFalse();
+        assertThat(r.hasSameAnswer(2L, "Rayón leve", List.of(10L))).isFalse();
+        assertThat(r.hasSameAnswer(2L, "Rayón leve", List.of(10L, 12L))).isFalse();
+    }
+}
@@ -0,0 +1,60 @@
+package org.avyla.security.application.service;
+
+import org.avyla.security.config.AuthProperties;
+import org.avyla.security.domain.repo.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("PasswordHashingService - Tests Unitarios")
+class PasswordHashingServiceTest {
+
+    private UserRepository userRepository;
+    private PasswordHashingService service;
+
+    @BeforeEach
+    void setUp() {
+        var props = new AuthProperties();
+        props.getPassword().setBcryptStrength(5);
+        props.getPassword().setHashThreads(1);
+        userRepository = mock(UserRepository.class);
+        service = new PasswordHashingService(new BCryptPasswordEncoder(5), userRepository, props);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("Debe leer el costo de un hash BCrypt y rechazar formatos desconocidos")
+    void shouldParseBcryptCost() {
+        assertThat(PasswordHashingService.bcryptCost("$2a$10$abcdefghijklmnopqrstuv")).isEqualTo(10);
+        assertThat(PasswordHashingService.bcryptCost("$2b$04$abcdefghijklmnopqrstuv")).isEqualTo(4);
+        assertThat(PasswordHashingService.bcryptCost("{noop}secreto")).isEqualTo(-1);
+        assertThat(PasswordHashingService.bcryptCost(null)).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Debe verificar en el pool y re-hashear solo si el costo difiere del configurado")
+    void shouldMatchAndRehashOnCostChange() {
+        String oldHash = new BCryptPasswordEncoder(4).encode("Clave123*");
+        String currentHash = new BCryptPasswordEncoder(5).encode("Clave123*");
+
+        assertThat(service.matches("Clave123*", oldHash)).isTrue();
+        assertThat(service.matches("otra", oldHash)).isFalse();
+
+        service.rehashIfNeeded(7L, "Clave123*", currentHash);
+        service.rehashIfNeeded(7L, "Clave123*", oldHash);
+
+        verify(userRepository, timeout(2_000)).updatePasswordIfUnchanged(eq(7L), eq(oldHash),
+                argThat(h -> h.startsWith("$2a$05$") && new BCryptPasswordEncoder(5).matches("Clave123*", h)));
+        verifyNoMoreInteractions(userRepository);
+    }
+}
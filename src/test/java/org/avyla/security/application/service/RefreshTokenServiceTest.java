@@ -0,0 +1,81 @@
+package org.avyla.security.application.service;
+
+import org.avyla.security.config.AuthProperties;
+import org.avyla.security.domain.entity.RefreshToken;
+import org.avyla.security.domain.repo.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("RefreshTokenService - Tests Unitarios")
+class RefreshTokenServiceTest {
+
+    private RefreshTokenRepository tokenRepo;
+    private RefreshTokenService service;
+
+    @BeforeEach
+    void setUp() {
+        tokenRepo = mock(RefreshTokenRepository.class);
+        service = new RefreshTokenService(tokenRepo, new AuthProperties());
+    }
+
+    @Test
+    @DisplayName("Debe rotar un token vigente dentro de la misma familia sin pasar la vida máxima")
+    void shouldRotateWithinFamily() {
+        var family = UUID.randomUUID();
+        var familyExpiresAt = Instant.now().plus(Duration.ofDays(1));
+        when(tokenRepo.findByTokenHash(RefreshTokenService.hash("viejo")))
+                .thenReturn(Optional.of(token(family, null, familyExpiresAt)));
+        when(tokenRepo.markRotated(eq(1L), any())).thenReturn(1);
+
+        var rotation = service.rotate("viejo");
+
+        var saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(tokenRepo).save(saved.capture());
+        assertThat(rotation.userId()).isEqualTo(9L);
+        assertThat(saved.getValue().getFamilyId()).isEqualTo(family);
+        assertThat(saved.getValue().getTokenHash()).isEqualTo(RefreshTokenService.hash(rotation.refreshToken()));
+        assertThat(saved.getValue().getExpiresAt()).isEqualTo(familyExpiresAt);
+        verify(tokenRepo, never()).revokeFamily(any(), any());
+    }
+
+    @Test
+    @DisplayName("Debe revocar la familia y responder 401 al reutilizar un token ya rotado")
+    void shouldRevokeFamilyOnReuse() {
+        var family = UUID.randomUUID();
+        when(tokenRepo.findByTokenHash(RefreshTokenService.hash("robado")))
+                .thenReturn(Optional.of(token(family, Instant.now().minusSeconds(60), Instant.now().plus(Duration.ofDays(1)))));
+
+        assertThatThrownBy(() -> service.rotate("robado"))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+        verify(tokenRepo).revokeFamily(eq(family), any());
+        verify(tokenRepo, never()).save(any());
+    }
+
+    private static RefreshToken token(UUID family, Instant rotatedAt, Instant familyExpiresAt) {
+        return RefreshToken.builder()
+                .id(1L)
+                .tokenHash("x")
+                .familyId(family)
+                .userId(9L)
+                .createdAt(Instant.now().minusSeconds(3600))
+                .expiresAt(Instant.now().plus(Duration.ofHours(1)))
+                .familyExpiresAt(familyExpiresAt)
+                .rotatedAt(rotatedAt)
+                .build();
+    }
+}
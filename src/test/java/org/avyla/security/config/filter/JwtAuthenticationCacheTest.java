@@ -0,0 +1,58 @@
+package org.avyla.security.config.filter;
+
+import org.avyla.security.config.AuthProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("JwtAuthenticationCache - Tests Unitarios")
+class JwtAuthenticationCacheTest {
+
+    private AuthProperties props;
+    private JwtAuthenticationCache cache;
+
+    @BeforeEach
+    void setUp() {
+        props = new AuthProperties();
+        props.getTokenCache().setMaxEntries(2);
+        cache = new JwtAuthenticationCache(props);
+    }
+
+    @Test
+    @DisplayName("Debe devolver la autenticación cacheada solo para el mismo token y antes de su exp")
+    void shouldHitOnlyForSameTokenUntilExpiry() {
+        long now = System.currentTimeMillis();
+        cache.put("a.b.c", auth("driver"), now + 60_000);
+        cache.put("a.b.old", auth("driver"), now - 1);
+
+        assertThat(cache.get("a.b.c").getName()).isEqualTo("driver");
+        assertThat(cache.get("a.b.x")).isNull();      // firma distinta
+        assertThat(cache.get("a.b.old")).isNull();    // ya vencido: no se cachea
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("No debe crecer más allá de maxEntries ni cachear si está deshabilitada")
+    void shouldRespectBoundAndEnabledFlag() {
+        long exp = System.currentTimeMillis() + 60_000;
+        cache.put("t1", auth("u1"), exp);
+        cache.put("t2", auth("u2"), exp);
+        cache.put("t3", auth("u3"), exp);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("t3")).isNull();
+
+        props.getTokenCache().setEnabled(false);
+        assertThat(cache.get("t1")).isNull();
+    }
+
+    private static Authentication auth(String username) {
+        return new UsernamePasswordAuthenticationToken(username, null, List.of());
+    }
+}
@@ -0,0 +1,64 @@
+package org.avyla.shared.id;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.SequenceGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * allocationSize de cada @SequenceGenerator debe coincidir con el INCREMENT BY de V16:
+ * con el optimizador pooled un desajuste produce ids duplicados o saltos en tiempo de ejecución.
+ */
+@DisplayName("Secuencias pooled - allocationSize vs migración")
+class PooledSequenceAllocationTest {
+
+    private static final String MIGRATION = "db/migration/shared/V16__pooled_id_sequences.sql";
+
+    @Test
+    @DisplayName("Cada secuencia de entidad debe estar en V16 con el mismo incremento que allocationSize")
+    void allocationSizeShouldMatchMigration() throws Exception {
+        String sql = new ClassPathResource(MIGRATION).getContentAsString(StandardCharsets.UTF_8);
+
+        var increment = Pattern.compile("INCREMENT BY (\\d+)").matcher(sql);
+        assertThat(increment.find()).as("INCREMENT BY en %s", MIGRATION).isTrue();
+        int migrationIncrement = Integer.parseInt(increment.group(1));
+
+        // Filas ('tabla', 'columna') del bloque VALUES -> secuencia BIGSERIAL tabla_columna_seq
+        Set<String> migrated = new HashSet<>();
+        var row = Pattern.compile("\\('([a-z_]+)',\\s*'([a-z_]+)'\\)").matcher(sql);
+        while (row.find()) migrated.add(row.group(1) + "_" + row.group(2) + "_seq");
+
+        Map<String, Integer> entitySequences = entitySequences();
+        assertThat(entitySequences).isNotEmpty();
+        assertThat(entitySequences.keySet()).containsExactlyInAnyOrderElementsOf(migrated);
+        entitySequences.forEach((sequence, allocation) ->
+                assertThat(allocation).as("allocationSize de %s", sequence).isEqualTo(migrationIncrement));
+    }
+
+    private static Map<String, Integer> entitySequences() throws ClassNotFoundException {
+        var scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+
+        Map<String, Integer> result = new HashMap<>();
+        for (var bean : scanner.findCandidateComponents("org.avyla")) {
+            for (Field field : Class.forName(bean.getBeanClassName()).getDeclaredFields()) {
+                SequenceGenerator gen = field.getAnnotation(SequenceGenerator.class);
+                if (gen != null) result.put(gen.sequenceName(), gen.allocationSize());
+            }
+        }
+        return result;
+    }
+}
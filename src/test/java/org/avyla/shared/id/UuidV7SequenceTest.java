@@ -0,0 +1,129 @@
+package org.avyla.shared.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("UuidV7Sequence - Tests Unitarios")
+class UuidV7SequenceTest {
+
+    private static final long T0 = 1_760_000_000_000L;
+
+    @Test
+    @DisplayName("Debe generar UUID versión 7, variante RFC y con el timestamp en los 48 bits altos")
+    void shouldEncodeVersionAndTimestamp() {
+        var sequence = new UuidV7Sequence(() -> T0);
+
+        UUID id = sequence.next();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isEqualTo(T0);
+    }
+
+    @Test
+    @DisplayName("Debe ser estrictamente creciente en el mismo milisegundo, al agotar el contador y si el reloj retrocede")
+    void shouldBeMonotonic() {
+        var clock = new AtomicLong(T0);
+        var sequence = new UuidV7Sequence(clock::get);
+
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {       // más ids que el contador de 12 bits en un solo milisegundo
+            ids.add(sequence.next());
+        }
+        clock.set(T0 - 5_000);                   // ajuste de NTP hacia atrás
+        for (int i = 0; i < 100; i++) {
+            ids.add(sequence.next());
+        }
+
+        // El orden de PostgreSQL para uuid es byte a byte sin signo: equivale a comparar el texto
+        for (int i = 1; i < ids.size(); i++) {
+            assertThat(ids.get(i).toString()).isGreaterThan(ids.get(i - 1).toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Debe insertar siempre en la última hoja del índice y dejarlo más compacto que UUID aleatorios")
+    void shouldKeepIndexInsertsLocal() {
+        var clock = new AtomicLong(T0);
+        var sequence = new UuidV7Sequence(clock::get);
+        int[] calls = {0};
+        Supplier<UUID> v7 = () -> {
+            if (++calls[0] % 4 == 0) clock.incrementAndGet();   // ~4 inserts por milisegundo
+            return sequence.next();
+        };
+
+        var ordered = LeafLevel.build(v7, 50_000);
+        var random = LeafLevel.build(UUID::randomUUID, 50_000);
+
+        // Localidad: las últimas 1.000 inserciones v7 tocan unas pocas hojas; las aleatorias, casi todo el índice
+        assertThat(ordered.rightmostInserts).isEqualTo(50_000);
+        assertThat(ordered.recentPages).isLessThanOrEqualTo(10);
+        assertThat(random.recentPages).isGreaterThan(random.pages.size() / 2);
+        // Tamaño: hojas al ~90 % frente a ~70-75 % de los splits por la mitad
+        assertThat(ordered.pages.size()).isLessThan((int) (random.pages.size() * 0.9));
+    }
+
+    /**
+     * Nivel de hojas de un B-tree (simulación de la PK): páginas ordenadas de capacidad fija.
+     * Como PostgreSQL, una hoja llena se parte por la mitad, salvo la última cuando recibe la clave mayor
+     * (split rightmost: la página izquierda queda al fillfactor 90 %).
+     */
+    private static final class LeafLevel {
+        private static final int CAPACITY = 256;   // ~8 KB / tupla uuid
+        private static final int RIGHTMOST_FILL = CAPACITY * 9 / 10;
+
+        private static final int RECENT_WINDOW = 1_000;
+
+        final List<TreeSet<String>> pages = new ArrayList<>();
+        int rightmostInserts;
+        int recentPages;   // hojas distintas tocadas por las últimas RECENT_WINDOW inserciones
+
+        static LeafLevel build(Supplier<UUID> ids, int count) {
+            var level = new LeafLevel();
+            level.pages.add(new TreeSet<>());
+            var recent = Collections.newSetFromMap(new IdentityHashMap<TreeSet<String>, Boolean>());
+            for (int i = 0; i < count; i++) {
+                var page = level.insert(ids.get().toString()); // orden de texto = orden uuid de PG
+                if (i >= count - RECENT_WINDOW) recent.add(page);
+            }
+            level.recentPages = recent.size();
+            return level;
+        }
+
+        TreeSet<String> insert(String key) {
+            int idx = pageFor(key);
+            var page = pages.get(idx);
+            boolean rightmost = idx == pages.size() - 1 && (page.isEmpty() || key.compareTo(page.last()) > 0);
+            if (rightmost) rightmostInserts++;
+            page.add(key);
+            if (page.size() <= CAPACITY) return page;
+
+            int keep = rightmost ? RIGHTMOST_FILL : page.size() / 2;
+            var right = new TreeSet<String>();
+            while (page.size() > keep) right.add(page.pollLast());
+            pages.add(idx + 1, right);
+            return right.contains(key) ? right : page;
+        }
+
+        private int pageFor(String key) {
+            int lo = 0, hi = pages.size() - 1;
+            while (lo < hi) {
+                int mid = (lo + hi + 1) >>> 1;
+                if (pages.get(mid).first().compareTo(key) <= 0) lo = mid;
+                else hi = mid - 1;
+            }
+            return lo;
+        }
+    }
+}
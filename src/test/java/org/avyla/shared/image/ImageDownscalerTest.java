@@ -0,0 +1,77 @@
+package org.avyla.shared.image;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ImageDownscaler - Tests Unitarios")
+class ImageDownscalerTest {
+
+    private static byte[] png(int w, int h) throws Exception {
+        var img = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+        var out = new ByteArrayOutputStream();
+        ImageIO.write(img, "png", out);
+        return out.toByteArray();
+    }
+
+    private static BufferedImage decode(byte[] jpeg) throws Exception {
+        return ImageIO.read(new ByteArrayInputStream(jpeg));
+    }
+
+    @Test
+    @DisplayName("Debe producir vista previa y miniatura JPEG conservando la proporción")
+    void shouldDownscaleKeepingAspectRatio() throws Exception {
+        var jpegs = ImageDownscaler.downscaleToJpeg(new ByteArrayInputStream(png(3000, 1500)), 0.8f, 1280, 256);
+
+        assertThat(jpegs).hasSize(2);
+        var preview = decode(jpegs.get(0));
+        var thumb = decode(jpegs.get(1));
+        assertThat(preview.getWidth()).isEqualTo(1280);
+        assertThat(preview.getHeight()).isEqualTo(640);
+        assertThat(thumb.getWidth()).isEqualTo(256);
+        assertThat(thumb.getHeight()).isEqualTo(128);
+    }
+
+    @Test
+    @DisplayName("No debe ampliar imágenes más pequeñas que la variante")
+    void shouldNotUpscale() throws Exception {
+        var jpegs = ImageDownscaler.downscaleToJpeg(new ByteArrayInputStream(png(200, 100)), 0.8f, 256);
+
+        var thumb = decode(jpegs.get(0));
+        assertThat(thumb.getWidth()).isEqualTo(200);
+        assertThat(thumb.getHeight()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Debe leer la orientación EXIF y rotar intercambiando ancho y alto")
+    void shouldHonorExifOrientation() {
+        // "Exif\0\0" + TIFF big-endian, IFD0 en offset 8 con un único tag Orientation = 6
+        byte[] app1 = {
+                'E', 'x', 'i', 'f', 0, 0,
+                'M', 'M', 0, 42, 0, 0, 0, 8,
+                0, 1,
+                0x01, 0x12, 0, 3, 0, 0, 0, 1, 0, 6, 0, 0,
+                0, 0, 0, 0
+        };
+        assertThat(ImageDownscaler.parseOrientation(app1)).isEqualTo(6);
+        assertThat(ImageDownscaler.parseOrientation(new byte[]{'J', 'F', 'I', 'F'})).isZero();
+
+        var rotated = ImageDownscaler.orient(new BufferedImage(40, 20, BufferedImage.TYPE_INT_RGB), 6);
+        assertThat(rotated.getWidth()).isEqualTo(20);
+        assertThat(rotated.getHeight()).isEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar contenido que no es imagen")
+    void shouldRejectNonImages() {
+        assertThatThrownBy(() -> ImageDownscaler.downscaleToJpeg(
+                new ByteArrayInputStream("%PDF-1.7".getBytes()), 0.8f, 256))
+                .isInstanceOf(java.io.IOException.class);
+    }
+}
@@ -0,0 +1,47 @@
+package org.avyla.shared.pagination;
+
+import org.avyla.shared.exception.BadRequestException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CursorCodec - Tests Unitarios")
+class CursorCodecTest {
+
+    @Test
+    @DisplayName("Debe codificar y decodificar claves con cualquier carácter")
+    void shouldRoundTrip() {
+        for (String key : List.of("ABC123", "juan:perez", "2025-03-01T12:00:00.123456Z", "ñandú", "")) {
+            var cursor = CursorCodec.decode(CursorCodec.encode(key, 42L));
+            assertThat(cursor.key()).isEqualTo(key);
+            assertThat(cursor.id()).isEqualTo(42L);
+        }
+        assertThat(CursorCodec.decode(null)).isNull();
+        assertThat(CursorCodec.decode(" ")).isNull();
+    }
+
+    @Test
+    @DisplayName("Debe rechazar cursores alterados con 400")
+    void shouldRejectTamperedCursor() {
+        assertThatThrownBy(() -> CursorCodec.decode("%%%")).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> CursorCodec.decode("YWJj")).isInstanceOf(BadRequestException.class);   // "abc"
+        assertThatThrownBy(() -> CursorCodec.decode("eDpB")).isInstanceOf(BadRequestException.class);   // "x:A"
+    }
+
+    @Test
+    @DisplayName("Debe armar la página con hasNext a partir de size + 1 filas")
+    void shouldBuildSliceFromExtraRow() {
+        var full = CursorSliceResponse.of(List.of("a", "b", "c"), 2, Function.identity(), s -> s);
+        assertThat(full.items()).containsExactly("a", "b");
+        assertThat(full.hasNext()).isTrue();
+        assertThat(full.nextCursor()).isEqualTo("b");
+
+        var last = CursorSliceResponse.of(List.of("a"), 2, Function.identity(), s -> s);
+        assertThat(last.hasNext()).isFalse();
+        assertThat(last.nextCursor()).isNull();
+    }
+}
@@ -0,0 +1,47 @@
+package org.avyla.shared.pagination;
+
+import org.avyla.checklists.domain.repo.ChecklistInstanceRepository;
+import org.avyla.security.domain.repo.UserRepository;
+import org.avyla.shared.util.GeneratedSql;
+import org.avyla.vehicles.domain.repo.VehicleRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.data.domain.Pageable;
+
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Los índices de V15 solo dan un index scan desde el cursor si el SQL compara la clave completa como
+ * row value: "a > x OR (a = x AND b > y)" hace que PostgreSQL use el índice como filtro, no como límite.
+ */
+@DisplayName("Consultas keyset - SQL generado")
+class KeysetQueriesTest {
+
+    static Stream<Arguments> keysetQueries() throws NoSuchMethodException {
+        return Stream.of(
+                Arguments.of(VehicleRepository.class.getMethod("findPageAfter",
+                        String.class, long.class, boolean.class, Pageable.class), "plate,vehicle_id", ">"),
+                Arguments.of(UserRepository.class.getMethod("findPageIdsAfter",
+                        String.class, long.class, Pageable.class), "username,user_id", ">"),
+                Arguments.of(ChecklistInstanceRepository.class.getMethod("findPageBefore",
+                        Instant.class, long.class, Pageable.class), "started_at,instance_id", "<"));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("keysetQueries")
+    @DisplayName("Debe comparar la clave del cursor como row value, en el mismo orden que el índice")
+    void shouldUseRowValueComparison(Method query, String indexColumns, String operator) {
+        String sql = GeneratedSql.of(query).replaceAll("\\s+", "");
+
+        String[] columns = indexColumns.split(",");
+        String rowValue = "\\(\\w+\\." + columns[0] + ",\\w+\\." + columns[1] + "\\)" + operator + "\\(\\?,\\?\\)";
+        assertThat(sql).containsPattern(rowValue);
+        assertThat(sql).doesNotContainPattern("\\w+\\." + columns[0] + "=\\?");
+    }
+}
@@ -0,0 +1,64 @@
+package org.avyla.shared.scheduling;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("HierarchicalTimerWheel - Tests Unitarios")
+class HierarchicalTimerWheelTest {
+
+    private static final long TICK = 1_000;
+
+    @Test
+    @DisplayName("Debe disparar cada temporizador en su tick, nunca antes, en todos los niveles")
+    void shouldFireAtDeadlineAcrossLevels() {
+        var wheel = new HierarchicalTimerWheel<String>(TICK, 4, 0);
+        wheel.schedule("5s", 5_000);
+        wheel.schedule("90s", 90_500);          // nivel 1
+        wheel.schedule("1h", 3_600_000);        // nivel 2
+        wheel.schedule("3d", 3L * 86_400_000);  // nivel 3
+
+        assertThat(wheel.advance(4_999)).isEmpty();
+        assertThat(wheel.advance(5_000)).containsExactly("5s");
+        assertThat(wheel.advance(90_999)).isEmpty();       // 90.5 s redondea al tick 91
+        assertThat(wheel.advance(91_000)).containsExactly("90s");
+        assertThat(wheel.advance(3_599_999)).isEmpty();
+        assertThat(wheel.advance(3_600_000)).containsExactly("1h");
+        assertThat(wheel.advance(3L * 86_400_000 - 1)).isEmpty();
+        assertThat(wheel.advance(3L * 86_400_000)).containsExactly("3d");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Debe reprogramar, cancelar y disparar de inmediato lo ya vencido")
+    void shouldRescheduleCancelAndFireOverdue() {
+        var wheel = new HierarchicalTimerWheel<Long>(TICK, 4, 10_000);
+        wheel.schedule(1L, 20_000);
+        wheel.schedule(1L, 30_000);   // reemplaza
+        wheel.schedule(2L, 25_000);
+        wheel.schedule(3L, 5_000);    // ya vencido
+        assertThat(wheel.cancel(2L)).isTrue();
+
+        assertThat(wheel.advance(10_000)).containsExactly(3L);
+        assertThat(wheel.advance(29_000)).isEmpty();
+        assertThat(wheel.advance(30_000)).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Debe ubicar vencimientos más allá del último nivel y dispararlos a tiempo")
+    void shouldHandleDeadlinesBeyondLastLevel() {
+        var wheel = new HierarchicalTimerWheel<Integer>(TICK, 2, 0); // 2 niveles: 4096 ticks
+        wheel.schedule(1, 10_000_000);
+
+        List<Integer> fired = new ArrayList<>();
+        for (long now = 0; now < 10_000_000; now += 500_000) {
+            fired.addAll(wheel.advance(now));
+        }
+        assertThat(fired).isEmpty();
+        assertThat(wheel.advance(10_000_000)).containsExactly(1);
+    }
+}
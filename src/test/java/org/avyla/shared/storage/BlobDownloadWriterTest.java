@@ -0,0 +1,127 @@
+package org.avyla.shared.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("BlobDownloadWriter - Tests Unitarios")
+class BlobDownloadWriterTest {
+
+    private static final String SHA = "a".repeat(64);
+
+    private final BlobStore blobStore = mock(BlobStore.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final BlobDownloadWriter writer = new BlobDownloadWriter(blobStore, jdbcTemplate);
+
+    @TempDir
+    Path tmp;
+
+    private BlobDownload download() {
+        return new BlobDownload("image/png", 10L, SHA, "\"" + SHA + "\"", null, null);
+    }
+
+    @Test
+    @DisplayName("Debe responder 304 sin leer el contenido cuando If-None-Match coincide con el digest")
+    void shouldReturnNotModifiedOnMatchingEtag() throws Exception {
+        var request = new MockHttpServletRequest("GET", "/api/attachments/x");
+        request.addHeader("If-None-Match", "\"otro\", W/\"" + SHA + "\"");
+        var response = new MockHttpServletResponse();
+
+        writer.write(download(), request, response);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeader("ETag")).isEqualTo("\"" + SHA + "\"");
+        verifyNoInteractions(blobStore);
+    }
+
+    @Test
+    @DisplayName("No debe aplicar If-None-Match si la descarga no tiene ETag")
+    void shouldIgnoreIfNoneMatchWithoutEtag() {
+        var request = new MockHttpServletRequest("GET", "/api/attachments/x");
+        request.addHeader("If-None-Match", "*");
+        var legacy = new BlobDownload("image/png", 10L, null, null, null, null);
+
+        assertThat(BlobDownloadWriter.notModified(legacy, request)).isFalse();
+        assertThat(BlobDownloadWriter.notModified(download(), request)).isTrue();
+    }
+
+    private BlobDownload legacyDownload() {
+        var column = new BlobDownload.LegacyColumn("checklist_attachment", "id", UUID.randomUUID());
+        return new BlobDownload("image/png", 10L, null, null, null, column);
+    }
+
+    // Ejecuta el ResultSetExtractor del writer sobre una fila simulada
+    @SuppressWarnings("unchecked")
+    private void givenLegacyRow(ResultSet rs) {
+        when(jdbcTemplate.query(anyString(), any(ResultSetExtractor.class), any()))
+                .thenAnswer(inv -> inv.<ResultSetExtractor<?>>getArgument(1).extractData(rs));
+    }
+
+    @Test
+    @DisplayName("Debe servir desde el BlobStore si la fila legada se migró entre metadatos y cuerpo")
+    void shouldFallBackToStoreWhenRowWasMigrated() throws Exception {
+        Path file = Files.write(tmp.resolve("blob"), "hola mundo".getBytes());
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.next()).thenReturn(true);
+        when(rs.getString(1)).thenReturn("ab/key");
+        givenLegacyRow(rs);
+        when(blobStore.size("ab/key")).thenReturn(10L);
+        when(blobStore.openChannel("ab/key")).thenAnswer(inv -> FileChannel.open(file));
+        var response = new MockHttpServletResponse();
+
+        writer.write(legacyDownload(), new MockHttpServletRequest("GET", "/api/attachments/x"), response);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentLengthLong()).isEqualTo(10L);
+        assertThat(response.getContentAsString()).isEqualTo("hola mundo");
+        verify(rs, never()).getBinaryStream(3);
+    }
+
+    @Test
+    @DisplayName("Debe tomar el tamaño legado de la misma sentencia que el contenido")
+    void shouldUseLengthFromSameStatement() throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.next()).thenReturn(true);
+        when(rs.getLong(2)).thenReturn(4L);
+        when(rs.getBinaryStream(3)).thenReturn(new ByteArrayInputStream("abcd".getBytes()));
+        givenLegacyRow(rs);
+        var response = new MockHttpServletResponse();
+
+        writer.write(legacyDownload(), new MockHttpServletRequest("GET", "/api/attachments/x"), response);
+
+        assertThat(response.getContentLengthLong()).isEqualTo(4L);
+        assertThat(response.getContentAsString()).isEqualTo("abcd");
+        verify(jdbcTemplate, times(1)).query(anyString(), any(ResultSetExtractor.class), any());
+    }
+
+    @Test
+    @DisplayName("Debe fallar, no truncar en silencio, si el contenido es más corto que el Content-Length")
+    void shouldFailWhenContentIsShorterThanAnnounced() throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.next()).thenReturn(true);
+        when(rs.getLong(2)).thenReturn(10L);
+        when(rs.getBinaryStream(3)).thenReturn(new ByteArrayInputStream("abc".getBytes()));
+        givenLegacyRow(rs);
+        var response = new MockHttpServletResponse();
+
+        assertThatThrownBy(() -> writer.write(legacyDownload(), new MockHttpServletRequest("GET", "/x"), response))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasCauseInstanceOf(EOFException.class);
+    }
+}
@@ -0,0 +1,74 @@
+package org.avyla.shared.storage;
+
+import org.avyla.checklists.domain.repo.ChecklistAttachmentRepository;
+import org.avyla.shared.util.GeneratedSql;
+import org.avyla.vehicles.domain.enums.DocumentType;
+import org.avyla.vehicles.domain.repo.VehicleDocumentRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Sin enhancement de bytecode, @Basic(fetch = LAZY) sobre data se ignora: cualquier consulta que
+ * materialice la entidad trae el bytea completo. Los listados deben ir por proyecciones sin esa columna.
+ */
+@DisplayName("Consultas de listado sin columna data - Tests Unitarios")
+class BlobListingQueriesTest {
+
+    private static final Pattern DATA_COLUMN = Pattern.compile("\\b\\w+\\.data\\b");
+
+    static Stream<Arguments> listings() throws NoSuchMethodException {
+        return Stream.of(
+                Arguments.of(ChecklistAttachmentRepository.class.getMethod("findListingByResponseId", Long.class)),
+                Arguments.of(ChecklistAttachmentRepository.class.getMethod("findListingByInstanceId", Long.class)),
+                Arguments.of(VehicleDocumentRepository.class.getMethod("findListingByVehicleAndDocType", Long.class, DocumentType.class)));
+    }
+
+    @Test
+    @DisplayName("Control: cargar la entidad completa sí lee data (LAZY ignorado)")
+    void entityQueryShouldReadData() {
+        String sql = GeneratedSql.of("select a from ChecklistAttachment a where a.response.id = :responseId",
+                Map.of("responseId", 0L));
+
+        assertThat(selectList(sql)).containsPattern(DATA_COLUMN);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("listings")
+    @DisplayName("El SQL generado para el listado no debe leer la columna data")
+    void generatedSqlShouldNotReadData(Method listing) {
+        String sql = GeneratedSql.of(listing);
+
+        assertThat(selectList(sql)).doesNotContainPattern(DATA_COLUMN);
+    }
+
+    private static String selectList(String sql) {
+        String normalized = sql.toLowerCase(Locale.ROOT).replaceAll("\\s+", " ").trim();
+        return normalized.substring("select ".length(), normalized.indexOf(" from "));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("listings")
+    @DisplayName("La proyección del listado no debe exponer getData")
+    void projectionShouldNotExposeData(Method listing) {
+        var element = ((ParameterizedType) listing.getGenericReturnType()).getActualTypeArguments()[0];
+        assertThat(element).isInstanceOf(Class.class);
+        Class<?> projection = (Class<?>) element;
+
+        assertThat(projection.isInterface()).as("%s debe devolver una proyección", listing.getName()).isTrue();
+        assertThat(Arrays.stream(projection.getMethods()).map(Method::getName)).doesNotContain("getData");
+        assertThat(Arrays.stream(projection.getMethods()).noneMatch(m -> m.getReturnType() == byte[].class)).isTrue();
+    }
+}
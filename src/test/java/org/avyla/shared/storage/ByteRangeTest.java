@@ -0,0 +1,37 @@
+package org.avyla.shared.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ByteRange - Tests Unitarios")
+class ByteRangeTest {
+
+    @Test
+    @DisplayName("Debe interpretar rangos abiertos, cerrados y por sufijo")
+    void shouldParseSupportedForms() {
+        assertThat(ByteRange.parse("bytes=0-99", 1000)).contains(new ByteRange(0, 99));
+        assertThat(ByteRange.parse("bytes=900-", 1000)).contains(new ByteRange(900, 999));
+        assertThat(ByteRange.parse("bytes=-100", 1000)).contains(new ByteRange(900, 999));
+        assertThat(ByteRange.parse("bytes=500-5000", 1000)).contains(new ByteRange(500, 999));
+    }
+
+    @Test
+    @DisplayName("Debe ignorar headers ausentes, multi-rango o mal formados (respuesta completa)")
+    void shouldIgnoreUnsupportedHeaders() {
+        assertThat(ByteRange.parse(null, 1000)).isEmpty();
+        assertThat(ByteRange.parse("bytes=0-1,5-6", 1000)).isEmpty();
+        assertThat(ByteRange.parse("items=0-1", 1000)).isEmpty();
+        assertThat(ByteRange.parse("bytes=a-b", 1000)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe rechazar rangos fuera del contenido (416)")
+    void shouldRejectUnsatisfiableRanges() {
+        assertThatThrownBy(() -> ByteRange.parse("bytes=1000-", 1000))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ByteRange.parse("bytes=10-5", 1000))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
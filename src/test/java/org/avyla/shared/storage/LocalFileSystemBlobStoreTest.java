@@ -0,0 +1,92 @@
+package org.avyla.shared.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests del BlobStore local: direccionamiento por SHA-256, fragmentación y escritura atómica.
+ */
+@DisplayName("LocalFileSystemBlobStore - Tests Unitarios")
+class LocalFileSystemBlobStoreTest {
+
+    @TempDir
+    Path root;
+
+    private LocalFileSystemBlobStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new LocalFileSystemBlobStore(root);
+    }
+
+    @Test
+    @DisplayName("Debe guardar el contenido bajo su SHA-256 en directorios fragmentados")
+    void shouldStoreUnderShardedSha256Key() throws Exception {
+        byte[] content = "evidencia".getBytes(StandardCharsets.UTF_8);
+        String expected = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+
+        StoredBlob blob = store.put(new ByteArrayInputStream(content));
+
+        assertThat(blob.key()).isEqualTo(expected);
+        assertThat(blob.sha256()).isEqualTo(expected);
+        assertThat(blob.size()).isEqualTo(content.length);
+        assertThat(root.resolve(expected.substring(0, 2)).resolve(expected.substring(2, 4)).resolve(expected))
+                .exists();
+        try (InputStream in = store.open(blob.key())) {
+            assertThat(in.readAllBytes()).isEqualTo(content);
+        }
+    }
+
+    @Test
+    @DisplayName("Debe reutilizar el blob existente cuando el contenido es idéntico")
+    void shouldDeduplicateIdenticalContent() throws Exception {
+        byte[] content = "mismo contenido".getBytes(StandardCharsets.UTF_8);
+
+        StoredBlob first = store.put(new ByteArrayInputStream(content));
+        StoredBlob second = store.put(new ByteArrayInputStream(content));
+
+        assertThat(second.key()).isEqualTo(first.key());
+        try (var tmp = Files.list(root.resolve("tmp"))) {
+            assertThat(tmp).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Debe descartar el temporal si la lectura falla a mitad del stream")
+    void shouldCleanUpTemporaryFileOnFailure() throws Exception {
+        InputStream failing = new InputStream() {
+            private int served;
+
+            @Override
+            public int read() throws IOException {
+                if (served++ > 10) throw new IOException("conexión cortada");
+                return 'x';
+            }
+        };
+
+        assertThatThrownBy(() -> store.put(failing)).isInstanceOf(IOException.class);
+        try (var tmp = Files.list(root.resolve("tmp"))) {
+            assertThat(tmp).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Debe rechazar keys que no son un SHA-256 (evita path traversal)")
+    void shouldRejectInvalidKeys() {
+        assertThatThrownBy(() -> store.open("../../etc/passwd"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,132 @@
+package org.avyla.shared.util;
+
+import jakarta.persistence.Entity;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.resource.beans.container.spi.BeanContainer;
+import org.hibernate.resource.beans.container.spi.ContainedBean;
+import org.hibernate.resource.beans.spi.BeanInstanceProducer;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * SQL que Hibernate genera para el @Query de un repositorio, con el dialecto PostgreSQL y sin base de datos:
+ * se arranca un SessionFactory sin acceso JDBC, se ejecuta la consulta y un StatementInspector captura el SQL
+ * antes de que falle la obtención de conexión.
+ */
+public final class GeneratedSql {
+
+    private static SessionFactory sessionFactory;
+
+    private GeneratedSql() {
+    }
+
+    public static String of(Method repositoryMethod) {
+        Query query = repositoryMethod.getAnnotation(Query.class);
+        if (query == null) throw new IllegalArgumentException(repositoryMethod.getName() + " no declara @Query");
+
+        Map<String, Object> parameters = new HashMap<>();
+        Integer maxResults = null;
+        for (Parameter p : repositoryMethod.getParameters()) {
+            if (Pageable.class.isAssignableFrom(p.getType())) {
+                maxResults = 20;
+            } else {
+                parameters.put(p.getAnnotation(Param.class).value(), sample(p.getType()));
+            }
+        }
+        return of(query.value(), parameters, maxResults);
+    }
+
+    public static String of(String jpql, Map<String, Object> parameters) {
+        return of(jpql, parameters, null);
+    }
+
+    private static String of(String jpql, Map<String, Object> parameters, Integer maxResults) {
+        List<String> captured = new ArrayList<>();
+        try (var session = sessionFactory().withOptions().statementInspector(sql -> {
+            captured.add(sql);
+            return sql;
+        }).openSession()) {
+            var query = session.createQuery(jpql);
+            parameters.forEach(query::setParameter);
+            if (maxResults != null) query.setMaxResults(maxResults);
+            query.getResultList();
+        } catch (UnsupportedOperationException expected) {
+            // Sin conexión JDBC: el SQL ya pasó por el inspector
+        }
+        if (captured.isEmpty()) throw new IllegalStateException("No se generó SQL para: " + jpql);
+        return captured.get(0);
+    }
+
+    private static Object sample(Class<?> type) {
+        if (type == String.class) return "";
+        if (type == Long.class || type == long.class) return 0L;
+        if (type == Integer.class || type == int.class) return 0;
+        if (type == Boolean.class || type == boolean.class) return false;
+        if (type == Instant.class) return Instant.EPOCH;
+        if (type == UUID.class) return new UUID(0, 0);
+        if (type.isEnum()) return type.getEnumConstants()[0];
+        throw new IllegalArgumentException("Sin valor de ejemplo para " + type.getName());
+    }
+
+    private static synchronized SessionFactory sessionFactory() {
+        if (sessionFactory == null) {
+            var registry = new StandardServiceRegistryBuilder()
+                    .applySetting("hibernate.dialect", PostgreSQLDialect.class.getName())
+                    .applySetting("hibernate.boot.allow_jdbc_metadata_access", false)
+                    .applySetting("hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName())
+                    .applySetting("hibernate.resource.beans.container", new MockBeanContainer())
+                    .build();
+            var sources = new MetadataSources(registry);
+
+            var scanner = new ClassPathScanningCandidateComponentProvider(false);
+            scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+            for (var bean : scanner.findCandidateComponents("org.avyla")) {
+                try {
+                    sources.addAnnotatedClass(Class.forName(bean.getBeanClassName()));
+                } catch (ClassNotFoundException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            sessionFactory = sources.buildMetadata().buildSessionFactory();
+        }
+        return sessionFactory;
+    }
+
+    // Los entity listeners son beans de Spring con dependencias: aquí basta con un mock
+    private static final class MockBeanContainer implements BeanContainer {
+
+        @Override
+        public <B> ContainedBean<B> getBean(Class<B> beanType, LifecycleOptions options, BeanInstanceProducer producer) {
+            B bean = mock(beanType);
+            return () -> bean;
+        }
+
+        @Override
+        public <B> ContainedBean<B> getBean(String name, Class<B> beanType, LifecycleOptions options,
+                                            BeanInstanceProducer producer) {
+            return getBean(beanType, options, producer);
+        }
+
+        @Override
+        public void stop() {
+        }
+    }
+}